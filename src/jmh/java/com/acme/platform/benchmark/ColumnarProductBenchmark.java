@@ -0,0 +1,109 @@
+package com.acme.platform.benchmark;
+
+import com.acme.platform.Application;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.columnar.ProductColumns;
+import com.acme.platform.repository.columnar.ProductColumnsLoader;
+import com.acme.platform.specification.ProductSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProductRepository} reads through Hibernate ("jpa") and from the columnar engine
+ * ("columnar") over the same data set. Hibernate caches are off so the JPA numbers measure
+ * query execution and entity hydration.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=ColumnarProductBenchmark</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ColumnarProductBenchmark {
+    
+    private static final int ROWS = 100_000;
+    
+    @Param({"jpa", "columnar"})
+    public String engine;
+    
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+                        "--amg.columnar.enabled=" + engine.equals("columnar"),
+                        "--amg.columnar.initial-capacity=" + ROWS,
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--logging.level.com.acme.platform=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        if (engine.equals("columnar")) {
+            ProductColumnsLoader.load(jdbcTemplate, context.getBean(ProductColumns.class));
+        }
+        productRepository = context.getBean(ProductRepository.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Object findById() {
+        return productRepository.findById(ThreadLocalRandom.current().nextLong(1, ROWS + 1));
+    }
+    
+    @Benchmark
+    public Object searchByNameInStock() {
+        return productRepository.findAll(ProductSpecification.hasName("product 4242")
+                .and(ProductSpecification.isInStock()));
+    }
+    
+    @Benchmark
+    public Object pricePageSortedByPrice() {
+        return productRepository.findAll(ProductSpecification.hasPriceBetween(new BigDecimal("100.00"), new BigDecimal("200.00")),
+                PageRequest.of(3, 20, Sort.by("price")));
+    }
+    
+    @Benchmark
+    public long countOutOfStock() {
+        return productRepository.count(ProductSpecification.isOutOfStock());
+    }
+    
+    @Benchmark
+    public Object totalInventoryValue() {
+        return productRepository.totalInventoryValue();
+    }
+    
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> products = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(new Object[]{"Product " + i, "Benchmark product " + (i % 50), BigDecimal.valueOf(i, 2), i % 100, now, now, (long) i});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, description, price, stock, version, created_at, updated_at, change_seq) "
+                + "values (?, ?, ?, ?, 0, ?, ?, ?)", products);
+    }
+}
@@ -0,0 +1,104 @@
+package com.acme.platform.benchmark;
+
+import com.acme.platform.Application;
+import com.acme.platform.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time-to-ready with a 1M product catalog: restarting on the {@code persistent} profile
+ * against an existing data file versus starting in memory and re-importing the catalog.
+ * Both variants pay the same Spring context startup; the difference is the data.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=PersistentStartupBenchmark</pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class PersistentStartupBenchmark {
+    
+    private static final int CATALOG_SIZE = 1_000_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String INSERT_PRODUCT =
+            "insert into products (name, description, price, stock, version, created_at, updated_at, change_seq) "
+                    + "values (?, ?, ?, ?, 0, ?, ?, ?)";
+    
+    private Path dataDir;
+    
+    @Setup(Level.Trial)
+    public void createPersistentCatalog() throws IOException {
+        dataDir = Files.createTempDirectory("amg-startup-bench");
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=persistent",
+                "--amg.h2.data-dir=" + dataDir)) {
+            importCatalog(context.getBean(JdbcTemplate.class));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteData() throws IOException {
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+    
+    @Benchmark
+    public long restartPersistent() {
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=persistent",
+                "--amg.h2.data-dir=" + dataDir)) {
+            return context.getBean(ProductRepository.class).count();
+        }
+    }
+    
+    @Benchmark
+    public long startInMemoryAndReload() {
+        try (ConfigurableApplicationContext context = start(
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID())) {
+            importCatalog(context.getBean(JdbcTemplate.class));
+            return context.getBean(ProductRepository.class).count();
+        }
+    }
+    
+    private static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args);
+    }
+    
+    private static void importCatalog(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= CATALOG_SIZE; i++) {
+            batch.add(new Object[]{"Product " + i, "Benchmark product " + i,
+                    BigDecimal.valueOf(i % 10_000, 2), i % 500, now, now, (long) i});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.acme.platform.benchmark;
+
+import com.acme.platform.Application;
+import com.acme.platform.config.ReactiveProperties;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.R2dbcProductRepository;
+import com.acme.platform.service.ProductBatchLoader;
+import com.acme.platform.service.ProductBulkheads;
+import com.acme.platform.service.ReactiveProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ReactiveProductService.findById} with {@code concurrency} lookups in flight at once,
+ * reading through JPA on the point-read bulkhead ("jpa", capped at {@code amg.bulkheads.point-reads}) or
+ * through R2DBC ("r2dbc"), or coalesced into {@code findAllById} batches over R2DBC by
+ * {@code ProductBatchLoader} ("batched"). The peak JVM thread count of each trial is printed
+ * at tear-down.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=ReactiveConcurrencyBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReactiveConcurrencyBenchmark {
+    
+    private static final int ROWS = 10_000;
+    
+    @Param({"jpa", "r2dbc", "batched"})
+    public String path;
+    
+    @Param({"256", "4096"})
+    public int concurrency;
+    
+    private ConfigurableApplicationContext context;
+    private ReactiveProductService service;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--amg.batch-loader.enabled=" + path.equals("batched"),
+                        "--logging.level.com.acme.platform=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        service = new ReactiveProductService(productRepository,
+                path.equals("jpa") ? null : context.getBean(R2dbcProductRepository.class),
+                path.equals("batched") ? context.getBean(ProductBatchLoader.class) : null,
+                context.getBean(ProductBulkheads.class),
+                context.getBean(ReactiveProperties.class));
+        threads.resetPeakThreadCount();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        System.out.printf("%n[%s, concurrency %d] peak threads: %d%n", path, concurrency, threads.getPeakThreadCount());
+        context.close();
+    }
+    
+    @Benchmark
+    public Long concurrentLookups() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> service.findById(ThreadLocalRandom.current().nextLong(1, ROWS + 1)), concurrency)
+                .count()
+                .block();
+    }
+    
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> products = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(new Object[]{"Product " + i, "Benchmark product", BigDecimal.valueOf(i, 2), i % 100, now, now, (long) i});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, description, price, stock, version, created_at, updated_at, change_seq) "
+                + "values (?, ?, ?, ?, 0, ?, ?, ?)", products);
+    }
+}
@@ -0,0 +1,98 @@
+package com.acme.platform.benchmark;
+
+import com.acme.platform.Application;
+import com.acme.platform.api.ProductController;
+import com.acme.platform.api.UserController;
+import com.acme.platform.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups through {@code ProductController} and {@code UserController} with the Hibernate
+ * second-level cache off ("before") and on ("after").
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=SecondLevelCacheBenchmark</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SecondLevelCacheBenchmark {
+    
+    private static final int ROWS = 10_000;
+    
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+    
+    private ConfigurableApplicationContext context;
+    private ProductController productController;
+    private UserController userController;
+    private UserRepository userRepository;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                        "--logging.level.com.acme.platform=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        productController = context.getBean(ProductController.class);
+        userController = context.getBean(UserController.class);
+        userRepository = context.getBean(UserRepository.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Object getProductById() {
+        return productController.getProductById(randomId()).getBody();
+    }
+    
+    @Benchmark
+    public Object getUserById() {
+        return userController.getUserById(randomId()).getBody();
+    }
+    
+    @Benchmark
+    public Object emailConflictCheck() {
+        return userRepository.findByEmail("user" + randomId() + "@example.com");
+    }
+    
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+    }
+    
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> products = new ArrayList<>(ROWS);
+        List<Object[]> users = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(new Object[]{"Product " + i, "Benchmark product", BigDecimal.valueOf(i, 2), i % 100, now, now, (long) i});
+            users.add(new Object[]{"User " + i, "user" + i + "@example.com", "user" + i + "@example.com", "Street " + i, "password" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, description, price, stock, version, created_at, updated_at, change_seq) "
+                + "values (?, ?, ?, ?, 0, ?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("insert into users (name, email, email_normalized, address, password, version) values (?, ?, ?, ?, ?, 0)", users);
+    }
+}
@@ -0,0 +1,114 @@
+package com.acme.platform.benchmark;
+
+import com.acme.platform.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code concurrency} simultaneous {@code GET /api/products/{id}} requests against the MVC API,
+ * served by Tomcat's worker pool ("platform") or by one virtual thread per request ("virtual").
+ * Both modes share the same Hikari pool, so the difference is how many requests can wait on it
+ * without queueing in the connector. Responses other than 200 fail the invocation.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=VirtualThreadLoadBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadLoadBenchmark {
+    
+    private static final int ROWS = 10_000;
+    
+    @Param({"platform", "virtual"})
+    public String threads;
+    
+    @Param({"256", "2048"})
+    public int concurrency;
+    
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private String baseUrl;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+                        "--spring.datasource.hikari.maximum-pool-size=64",
+                        "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--logging.level.com.acme.platform=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/products/";
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clients)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        httpClient.close();
+        clients.close();
+        context.close();
+    }
+    
+    @Benchmark
+    public int concurrentRequests() {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode));
+        }
+        int ok = 0;
+        for (CompletableFuture<Integer> response : responses) {
+            int status = response.join();
+            if (status != 200) {
+                throw new IllegalStateException("Unexpected status " + status);
+            }
+            ok++;
+        }
+        return ok;
+    }
+    
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> products = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(new Object[]{"Product " + i, "Benchmark product", BigDecimal.valueOf(i, 2), i % 100, now, now, (long) i});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, description, price, stock, version, created_at, updated_at, change_seq) "
+                + "values (?, ?, ?, ?, 0, ?, ?, ?)", products);
+    }
+}
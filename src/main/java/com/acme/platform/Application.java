@@ -2,10 +2,15 @@ package com.acme.platform;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.retry.annotation.EnableRetry;
 
-@SpringBootApplication
+// The R2DBC pool is created by R2dbcConfiguration; an auto-configured ConnectionFactory
+// would make Spring Boot skip the JDBC DataSource that JPA runs on.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 @EnableCaching
 @EnableRetry
 public class Application {
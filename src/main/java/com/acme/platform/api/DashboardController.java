@@ -0,0 +1,24 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.InventoryDashboard;
+import com.acme.platform.service.InventoryDashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    
+    private final InventoryDashboardService inventoryDashboardService;
+    
+    public DashboardController(InventoryDashboardService inventoryDashboardService) {
+        this.inventoryDashboardService = inventoryDashboardService;
+    }
+    
+    @GetMapping("/inventory")
+    public ResponseEntity<InventoryDashboard> getInventory() {
+        return ResponseEntity.ok(inventoryDashboardService.inventory());
+    }
+}
@@ -1,7 +1,9 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.service.ETags;
 import com.acme.platform.service.ProductCacheService;
+import com.acme.platform.service.Tagged;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,20 +27,20 @@ public class ProductCacheController {
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
         return productCacheService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> ResponseEntity.ok().eTag(ETags.of(product)).body(product))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping
     public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productCacheService.findAll();
-        return ResponseEntity.ok(products);
+        Tagged<List<Product>> products = productCacheService.findAllTagged();
+        return ResponseEntity.ok().eTag(products.etag()).body(products.value());
     }
     
     @GetMapping("/search")
     public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
-        List<Product> products = productCacheService.findByName(name);
-        return ResponseEntity.ok(products);
+        Tagged<List<Product>> products = productCacheService.findByNameTagged(name);
+        return ResponseEntity.ok().eTag(products.etag()).body(products.value());
     }
     
     @PostMapping
@@ -0,0 +1,25 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.ProductChangeSet;
+import com.acme.platform.service.ProductChangeService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products/changes")
+public class ProductChangeController {
+    
+    private final ProductChangeService productChangeService;
+    
+    public ProductChangeController(ProductChangeService productChangeService) {
+        this.productChangeService = productChangeService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<ProductChangeSet> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        ProductChangeSet changes = productChangeService.changesSince(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+}
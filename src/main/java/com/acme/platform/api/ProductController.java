@@ -1,10 +1,18 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductBatchGetRequest;
+import com.acme.platform.model.ProductBatchGetResult;
+import com.acme.platform.model.ProductBatchOperation;
+import com.acme.platform.model.ProductBatchResult;
 import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.service.ETags;
+import com.acme.platform.service.ProductBatchLoader;
+import com.acme.platform.service.ProductBatchService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,9 +23,15 @@ import java.util.Optional;
 public class ProductController {
     
     private final ProductRepository productRepository;
+    private final ProductBatchService batchService;
+    private final ProductBatchLoader batchLoader;
     
-    public ProductController(ProductRepository productRepository) {
+    public ProductController(ProductRepository productRepository,
+                             ProductBatchService batchService,
+                             @Nullable ProductBatchLoader batchLoader) {
         this.productRepository = productRepository;
+        this.batchService = batchService;
+        this.batchLoader = batchLoader;
     }
     
     @GetMapping
@@ -25,16 +39,26 @@ public class ProductController {
         List<Product> products = name != null && !name.isEmpty()
                 ? productRepository.findByNameContainingIgnoreCase(name)
                 : productRepository.findAll();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(ETags.ofProducts(products)).body(products);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        Optional<Product> product = productRepository.findById(id);
-        return product.map(ResponseEntity::ok)
+        Optional<Product> product = batchLoader != null ? batchLoader.findById(id) : productRepository.findById(id);
+        return product.map(p -> ResponseEntity.ok().eTag(ETags.of(p)).body(p))
                      .orElse(ResponseEntity.notFound().build());
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<ProductBatchGetResult> getProductsByIds(@Valid @RequestBody ProductBatchGetRequest request) {
+        return ResponseEntity.ok(batchService.findAllById(request.ids()));
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResult> applyBatch(@RequestBody List<ProductBatchOperation> operations) {
+        return ResponseEntity.ok(batchService.apply(operations));
+    }
+    
     @PostMapping
     public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
         Product savedProduct = productRepository.save(product);
@@ -60,10 +84,9 @@ public class ProductController {
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        if (!productRepository.existsById(id)) {
+        if (productRepository.removeById(id) == 0) {
             return ResponseEntity.notFound().build();
         }
-        productRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,6 +1,7 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.service.ETags;
 import com.acme.platform.service.ProductSpecificationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,19 +26,19 @@ public class ProductSpecificationController {
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Integer minStock) {
         List<Product> products = productSpecificationService.searchProducts(name, minPrice, maxPrice, minStock);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(ETags.ofProducts(products)).body(products);
     }
     
     @GetMapping("/in-stock")
     public ResponseEntity<List<Product>> getInStockProducts() {
         List<Product> products = productSpecificationService.findInStockProducts();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(ETags.ofProducts(products)).body(products);
     }
     
     @GetMapping("/out-of-stock")
     public ResponseEntity<List<Product>> getOutOfStockProducts() {
         List<Product> products = productSpecificationService.findOutOfStockProducts();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(ETags.ofProducts(products)).body(products);
     }
     
     @GetMapping("/price-range")
@@ -45,12 +46,12 @@ public class ProductSpecificationController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice) {
         List<Product> products = productSpecificationService.findProductsByPriceRange(minPrice, maxPrice);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(ETags.ofProducts(products)).body(products);
     }
     
     @GetMapping("/description")
     public ResponseEntity<List<Product>> getProductsByDescription(@RequestParam String description) {
         List<Product> products = productSpecificationService.findProductsByDescription(description);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(ETags.ofProducts(products)).body(products);
     }
 }
@@ -0,0 +1,36 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.ProductStockPriceUpdate;
+import com.acme.platform.service.ProductWriteBehindService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/products/updates")
+@ConditionalOnProperty(prefix = "amg.write-behind", name = "enabled", havingValue = "true")
+public class ProductWriteBehindController {
+    
+    private final ProductWriteBehindService writeBehindService;
+    
+    public ProductWriteBehindController(ProductWriteBehindService writeBehindService) {
+        this.writeBehindService = writeBehindService;
+    }
+    
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Map<String, Integer>>> submitUpdates(
+            @RequestBody List<@Valid ProductStockPriceUpdate> updates,
+            @RequestParam(defaultValue = "false") boolean durable) {
+        CompletableFuture<?>[] acks = writeBehindService.submitAll(updates).toArray(CompletableFuture[]::new);
+        if (!durable) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted().body(Map.of("accepted", acks.length)));
+        }
+        return CompletableFuture.allOf(acks)
+                .thenApply(ignored -> ResponseEntity.ok(Map.of("applied", acks.length)));
+    }
+}
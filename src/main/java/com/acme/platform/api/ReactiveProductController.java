@@ -1,6 +1,9 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChange;
+import com.acme.platform.service.ETags;
+import com.acme.platform.service.ProductChangeFeed;
 import com.acme.platform.service.ReactiveProductService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -10,7 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,9 +21,12 @@ import java.util.Map;
 public class ReactiveProductController {
     
     private final ReactiveProductService reactiveProductService;
+    private final ProductChangeFeed productChangeFeed;
     
-    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+    public ReactiveProductController(ReactiveProductService reactiveProductService,
+                                     ProductChangeFeed productChangeFeed) {
         this.reactiveProductService = reactiveProductService;
+        this.productChangeFeed = productChangeFeed;
     }
     
     @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
@@ -31,7 +37,7 @@ public class ReactiveProductController {
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<Product>> getProductById(@PathVariable Long id) {
         return reactiveProductService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> ResponseEntity.ok().eTag(ETags.of(product)).body(product))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
     
@@ -72,8 +78,13 @@ public class ReactiveProductController {
     }
     
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<Product> streamProducts(@RequestParam(defaultValue = "1") long delaySeconds) {
-        return reactiveProductService.streamAllWithDelay(Duration.ofSeconds(delaySeconds));
+    public Flux<ProductChange> streamProducts() {
+        return productChangeFeed.stream();
+    }
+    
+    @GetMapping(value = "/stream/conflated", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<List<ProductChange>> streamConflatedProducts() {
+        return productChangeFeed.conflated();
     }
     
     @GetMapping(value = "/count", produces = MediaType.APPLICATION_JSON_VALUE)
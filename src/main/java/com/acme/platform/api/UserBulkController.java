@@ -0,0 +1,45 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.UserImportResult;
+import com.acme.platform.service.UserBulkService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserBulkController {
+    
+    private final UserBulkService userBulkService;
+    
+    public UserBulkController(UserBulkService userBulkService) {
+        this.userBulkService = userBulkService;
+    }
+    
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<UserImportResult> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                        InputStream body) throws IOException {
+        UserImportResult result = userBulkService.importUsers(body, UserBulkService.Format.of(contentType));
+        return ResponseEntity.ok(result);
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserBulkService.Format exportFormat = UserBulkService.Format.of(format);
+        StreamingResponseBody body = output -> userBulkService.exportUsers(output, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.name().toLowerCase(Locale.ROOT))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
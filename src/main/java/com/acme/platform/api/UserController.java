@@ -1,8 +1,13 @@
 package com.acme.platform.api;
 
+import com.acme.platform.model.LoginRequest;
 import com.acme.platform.model.User;
 import com.acme.platform.repository.UserRepository;
+import com.acme.platform.service.ETags;
+import com.acme.platform.service.EmailRegistry;
+import com.acme.platform.service.PasswordHashingService;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,64 +20,88 @@ import java.util.Optional;
 public class UserController {
     
     private final UserRepository userRepository;
+    private final EmailRegistry emailRegistry;
+    private final PasswordHashingService passwordHashing;
     
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, EmailRegistry emailRegistry,
+                          PasswordHashingService passwordHashing) {
         this.userRepository = userRepository;
+        this.emailRegistry = emailRegistry;
+        this.passwordHashing = passwordHashing;
     }
     
     @GetMapping
     public ResponseEntity<List<User>> getAllUsers() {
         List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(ETags.ofUsers(users)).body(users);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         Optional<User> user = userRepository.findById(id);
-        return user.map(ResponseEntity::ok)
+        return user.map(u -> ResponseEntity.ok().eTag(ETags.of(u)).body(u))
                    .orElse(ResponseEntity.notFound().build());
     }
     
     @PostMapping
     public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        String email = user.getEmailNormalized();
+        if (!emailRegistry.tryReserve(email)) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        User savedUser = userRepository.save(user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedUser);
+        try {
+            user.setPassword(passwordHashing.hash(user.getPassword()));
+            User savedUser = userRepository.save(user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedUser);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } finally {
+            emailRegistry.release(email);
+        }
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User userDetails) {
-        Optional<User> optionalUser = userRepository.findById(id);
-        if (optionalUser.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        User user = optionalUser.get();
-        Optional<User> existingUserWithEmail = userRepository.findByEmail(userDetails.getEmail());
-        if (existingUserWithEmail.isPresent() && !existingUserWithEmail.get().getId().equals(id)) {
+        String password = userDetails.getPassword();
+        String hashedPassword = password != null && !password.trim().isEmpty() ? passwordHashing.hash(password) : null;
+        try {
+            return userRepository.updateById(id, user -> {
+                        user.setName(userDetails.getName());
+                        user.setEmail(userDetails.getEmail());
+                        user.setAddress(userDetails.getAddress());
+                        
+                        if (hashedPassword != null) {
+                            user.setPassword(hashedPassword);
+                        }
+                    })
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (DataIntegrityViolationException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        
-        user.setName(userDetails.getName());
-        user.setEmail(userDetails.getEmail());
-        user.setAddress(userDetails.getAddress());
-        
-        if (userDetails.getPassword() != null && !userDetails.getPassword().trim().isEmpty()) {
-            user.setPassword(userDetails.getPassword());
+    }
+    
+    @PostMapping("/login")
+    public ResponseEntity<User> login(@Valid @RequestBody LoginRequest request) {
+        Optional<User> user = userRepository.findByEmail(request.email());
+        if (user.isEmpty() || !passwordHashing.matches(request.password(), user.get().getPassword())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        User updatedUser = userRepository.save(user);
-        return ResponseEntity.ok(updatedUser);
+        User authenticated = user.get();
+        if (passwordHashing.needsRehash(authenticated.getPassword())) {
+            String rehashed = passwordHashing.hash(request.password());
+            authenticated = userRepository.updateById(authenticated.getId(), u -> u.setPassword(rehashed))
+                    .orElse(authenticated);
+        }
+        return ResponseEntity.ok(authenticated);
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        if (!userRepository.existsById(id)) {
+        if (userRepository.removeById(id) == 0) {
             return ResponseEntity.notFound().build();
         }
-        userRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,6 +1,7 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.User;
+import com.acme.platform.service.ETags;
 import com.acme.platform.service.UserSpecificationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,18 +24,18 @@ public class UserSpecificationController {
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String address) {
         List<User> users = userSpecificationService.searchUsers(name, email, address);
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(ETags.ofUsers(users)).body(users);
     }
     
     @GetMapping("/with-address")
     public ResponseEntity<List<User>> getUsersWithAddress() {
         List<User> users = userSpecificationService.findUsersWithAddress();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(ETags.ofUsers(users)).body(users);
     }
     
     @GetMapping("/without-address")
     public ResponseEntity<List<User>> getUsersWithoutAddress() {
         List<User> users = userSpecificationService.findUsersWithoutAddress();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(ETags.ofUsers(users)).body(users);
     }
 }
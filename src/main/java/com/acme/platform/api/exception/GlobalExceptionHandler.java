@@ -1,7 +1,11 @@
 package com.acme.platform.api.exception;
 
+import com.acme.platform.service.BulkheadFullException;
+import com.acme.platform.service.PasswordHashingBusyException;
+import com.acme.platform.service.WriteBehindQueueFullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -60,6 +64,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleWriteBehindQueueFullException(WriteBehindQueueFullException e) {
+        logger.warn("Rejected update: {}", e.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Service unavailable");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusyException(PasswordHashingBusyException e) {
+        logger.warn("Rejected user write: {}", e.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Service unavailable");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, String>> handleBulkheadFullException(BulkheadFullException e) {
+        logger.warn("Rejected repository call: {}", e.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Service unavailable");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception e) {
         logger.error("Unexpected error: {}", e.getMessage(), e);
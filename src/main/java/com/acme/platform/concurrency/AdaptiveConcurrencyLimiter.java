@@ -0,0 +1,181 @@
+package com.acme.platform.concurrency;
+
+import com.acme.platform.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of requests in flight to a limit derived from measured latency, in the
+ * manner of a gradient limiter. Every {@code window} (with at least {@code min-window-samples}
+ * responses) the average latency of the window is compared with a slowly moving baseline:
+ * while it stays within {@code rtt-tolerance} of the baseline the limit grows by about its
+ * square root, and as requests start queueing and latency rises the limit shrinks in
+ * proportion, down to half per window. Each step is smoothed by {@code smoothing} and kept
+ * between {@code min-limit} and {@code max-limit}. The limit does not grow while less than
+ * half of it is used.
+ * <p>
+ * Requests over their priority's share of the limit are rejected at once instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    
+    private static final double BASELINE_SMOOTHING = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+    
+    private final ConcurrencyLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> shed = new EnumMap<>(RequestPriority.class);
+    private volatile double limit;
+    
+    // Window state, guarded by this.
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double baselineRtt;
+    
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+    
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.windowNanos = properties.window().toNanos();
+        this.limit = properties.initialLimit();
+        this.windowStart = nanoClock.getAsLong();
+        for (RequestPriority priority : RequestPriority.values()) {
+            shed.put(priority, Counter.builder("amg.concurrency.shed")
+                    .description("Requests rejected because the concurrency limit was reached")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("amg.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("amg.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Admits a request, or returns {@code null} when it must be shed. The permit must be
+     * released once the response is complete.
+     */
+    @Nullable
+    public Permit tryAcquire(RequestPriority priority) {
+        if (priority == RequestPriority.CRITICAL) {
+            return new Permit(inFlight.incrementAndGet(), false);
+        }
+        int allowed = allowed(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shed.get(priority).increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, true);
+            }
+        }
+    }
+    
+    public int limit() {
+        return (int) limit;
+    }
+    
+    public int inFlight() {
+        return inFlight.get();
+    }
+    
+    private int allowed(RequestPriority priority) {
+        double share = switch (priority) {
+            case BULK -> properties.bulkShare();
+            case READ -> properties.readShare();
+            default -> 1.0;
+        };
+        return Math.max(1, (int) Math.ceil(limit() * share));
+    }
+    
+    private synchronized void onSample(long rtt, int inFlightAtStart) {
+        windowRttSum += rtt;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        long now = nanoClock.getAsLong();
+        if (windowSamples < properties.minWindowSamples() || now - windowStart < windowNanos) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        updateLimit(shortRtt, maxInFlight);
+    }
+    
+    private void updateLimit(double shortRtt, int maxInFlight) {
+        if (baselineRtt == 0) {
+            baselineRtt = shortRtt;
+        } else {
+            baselineRtt += (shortRtt - baselineRtt) * BASELINE_SMOOTHING;
+        }
+        if (baselineRtt / shortRtt > 2) {
+            // Latency dropped well below the baseline (e.g. after a slow period); catch up faster.
+            baselineRtt *= 0.95;
+        }
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, properties.rttTolerance() * baselineRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - properties.smoothing()) + target * properties.smoothing();
+        next = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), next));
+        if ((int) next != (int) current) {
+            logger.debug("Concurrency limit {} -> {} (window rtt {}ms, baseline {}ms)", (int) current, (int) next,
+                    Math.round(shortRtt / 1_000_000), Math.round(baselineRtt / 1_000_000));
+        }
+        limit = next;
+    }
+    
+    public final class Permit {
+        
+        private final long startedAt = nanoClock.getAsLong();
+        private final int inFlightAtStart;
+        private final boolean sampled;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(int inFlightAtStart, boolean sampled) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.sampled = sampled;
+        }
+        
+        /**
+         * Ends the request and feeds its latency into the limit; repeated calls are ignored.
+         */
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            if (sampled) {
+                onSample(nanoClock.getAsLong() - startedAt, inFlightAtStart);
+            }
+        }
+    }
+}
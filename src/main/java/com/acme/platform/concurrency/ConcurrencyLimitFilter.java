@@ -0,0 +1,89 @@
+package com.acme.platform.concurrency;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Servlet front of the {@link AdaptiveConcurrencyLimiter}. A request started asynchronously
+ * (reactive return values, {@code DeferredResult}) keeps its slot until the async request
+ * completes, not just until the filter chain returns.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    static final String SHED_BODY = "{\"error\":\"Service unavailable\",\"message\":\"Server is at its concurrency limit\"}";
+    
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RequestClassifier classifier;
+    private final String retryAfterSeconds;
+    
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, RequestClassifier classifier, Duration retryAfter) {
+        this.limiter = limiter;
+        this.classifier = classifier;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RequestPriority priority = classifier.classify(request.getMethod(), path);
+        if (priority == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(SHED_BODY);
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+    
+    private record ReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
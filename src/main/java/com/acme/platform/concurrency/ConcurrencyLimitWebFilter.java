@@ -0,0 +1,59 @@
+package com.acme.platform.concurrency;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * WebFlux front of the {@link AdaptiveConcurrencyLimiter}; the slot is held until the
+ * response completes, errors or is cancelled.
+ */
+public class ConcurrencyLimitWebFilter implements WebFilter, Ordered {
+    
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RequestClassifier classifier;
+    private final String retryAfterSeconds;
+    
+    public ConcurrencyLimitWebFilter(AdaptiveConcurrencyLimiter limiter, RequestClassifier classifier, Duration retryAfter) {
+        this.limiter = limiter;
+        this.classifier = classifier;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        RequestPriority priority = classifier.classify(request.getMethod().name(),
+                request.getPath().pathWithinApplication().value());
+        if (priority == null) {
+            return chain.filter(exchange);
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DataBuffer body = response.bufferFactory()
+                    .wrap(ConcurrencyLimitFilter.SHED_BODY.getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }
+        return chain.filter(exchange).doFinally(signal -> permit.release());
+    }
+    
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
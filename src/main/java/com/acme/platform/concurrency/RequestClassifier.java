@@ -0,0 +1,62 @@
+package com.acme.platform.concurrency;
+
+import com.acme.platform.config.ConcurrencyLimitProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Maps a request to its {@link RequestPriority} by path. Bulk patterns may be prefixed with an
+ * HTTP method ({@code "GET /api/products"}) to leave other methods on the same path alone.
+ */
+public class RequestClassifier {
+    
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    
+    private final List<String> criticalPaths;
+    private final List<String> bulkPaths;
+    private final List<String> excludedPaths;
+    
+    public RequestClassifier(ConcurrencyLimitProperties properties) {
+        this.criticalPaths = properties.criticalPaths();
+        this.bulkPaths = properties.bulkPaths();
+        this.excludedPaths = properties.excludedPaths();
+    }
+    
+    /**
+     * Returns {@code null} for requests that bypass the limiter, such as long-lived streams
+     * that would otherwise hold a slot for their whole lifetime.
+     */
+    @Nullable
+    public RequestPriority classify(String method, String path) {
+        if (matchesAny(excludedPaths, method, path)) {
+            return null;
+        }
+        if (matchesAny(criticalPaths, method, path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (matchesAny(bulkPaths, method, path)) {
+            return RequestPriority.BULK;
+        }
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS" -> RequestPriority.READ;
+            default -> RequestPriority.WRITE;
+        };
+    }
+    
+    private static boolean matchesAny(List<String> patterns, String method, String path) {
+        for (String pattern : patterns) {
+            int space = pattern.indexOf(' ');
+            if (space < 0) {
+                if (MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            } else if (pattern.substring(0, space).equalsIgnoreCase(method)
+                    && MATCHER.match(pattern.substring(space + 1).trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package com.acme.platform.concurrency;
+
+/**
+ * Admission classes, highest first. When the limiter is saturated, lower classes are shed
+ * first: {@link #BULK} requests only get {@code bulk-share} of the limit, {@link #READ}
+ * requests {@code read-share}, {@link #WRITE} requests all of it, and {@link #CRITICAL}
+ * requests are never shed.
+ */
+public enum RequestPriority {
+    CRITICAL,
+    WRITE,
+    READ,
+    BULK
+}
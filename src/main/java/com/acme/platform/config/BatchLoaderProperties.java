@@ -0,0 +1,14 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amg.batch-loader")
+public record BatchLoaderProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2ms") Duration window,
+        @DefaultValue("100") int maxBatchSize,
+        @DefaultValue("4") int threads) {
+}
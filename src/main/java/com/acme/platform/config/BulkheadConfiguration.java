@@ -0,0 +1,28 @@
+package com.acme.platform.config;
+
+import com.acme.platform.service.ProductBulkheads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class BulkheadConfiguration {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadConfiguration.class);
+    
+    @Bean
+    public ProductBulkheads productBulkheads(BulkheadProperties properties, MeterRegistry meterRegistry,
+                                             Environment environment) {
+        // Each bulkhead thread holds at most one connection; partitions that together exceed the
+        // pool let one workload wait on connections another one is holding.
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        if (properties.totalConcurrency() > poolSize) {
+            logger.warn("Bulkheads allow {} concurrent repository calls but the connection pool has {} connections",
+                    properties.totalConcurrency(), poolSize);
+        }
+        return new ProductBulkheads(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "amg.bulkheads")
+public record BulkheadProperties(
+        @DefaultValue Partition pointReads,
+        @DefaultValue Partition scans,
+        @DefaultValue Partition writes) {
+    
+    public int totalConcurrency() {
+        return pointReads.maxConcurrent() + scans.maxConcurrent() + writes.maxConcurrent();
+    }
+    
+    public record Partition(
+            @DefaultValue("2") int maxConcurrent,
+            @DefaultValue("100") int maxQueued) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.acme.platform.config;
+
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.columnar.ColumnarProductRepository;
+import com.acme.platform.repository.columnar.ProductColumns;
+import com.acme.platform.repository.columnar.ProductColumnsLoader;
+import com.acme.platform.service.ProductChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves product reads from {@link ProductColumns}, loaded from H2 at startup and kept current
+ * by the repository's own writes and by the outbox relay. The JPA {@code productRepository}
+ * still performs every write. Not combinable with {@code amg.sharding}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "amg.columnar", name = "enabled", havingValue = "true")
+public class ColumnarConfiguration {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarConfiguration.class);
+    
+    @Bean
+    public ProductColumns productColumns(JdbcTemplate jdbcTemplate, ColumnarProperties properties) {
+        ProductColumns columns = new ProductColumns(properties.initialCapacity());
+        long started = System.nanoTime();
+        int loaded = ProductColumnsLoader.load(jdbcTemplate, columns);
+        logger.info("Loaded {} products into columnar storage in {} ms", loaded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return columns;
+    }
+    
+    @Bean
+    public ProductChangeListener columnarProductReplication(ProductColumns productColumns) {
+        return productColumns::apply;
+    }
+    
+    @Bean
+    @Primary
+    public ProductRepository columnarProductRepository(ProductColumns productColumns,
+                                                       @Qualifier("productRepository") ProductRepository productRepository,
+                                                       ProductChangeSequence changeSequence) {
+        return new ColumnarProductRepository(productColumns, productRepository, changeSequence);
+    }
+}
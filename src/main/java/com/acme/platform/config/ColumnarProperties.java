@@ -0,0 +1,10 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "amg.columnar")
+public record ColumnarProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1024") int initialCapacity) {
+}
@@ -0,0 +1,50 @@
+package com.acme.platform.config;
+
+import com.acme.platform.concurrency.AdaptiveConcurrencyLimiter;
+import com.acme.platform.concurrency.ConcurrencyLimitFilter;
+import com.acme.platform.concurrency.ConcurrencyLimitWebFilter;
+import com.acme.platform.concurrency.RequestClassifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "amg.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfiguration {
+    
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+    
+    @Bean
+    public RequestClassifier requestClassifier(ConcurrencyLimitProperties properties) {
+        return new RequestClassifier(properties);
+    }
+    
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                                 RequestClassifier classifier,
+                                                                                 ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, classifier, properties.retryAfter()));
+        // Shed before any other filter does work for the request.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ConcurrencyLimitWebFilter concurrencyLimitWebFilter(AdaptiveConcurrencyLimiter limiter,
+                                                               RequestClassifier classifier,
+                                                               ConcurrencyLimitProperties properties) {
+        return new ConcurrencyLimitWebFilter(limiter, classifier, properties.retryAfter());
+    }
+}
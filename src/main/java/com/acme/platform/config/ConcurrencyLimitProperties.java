@@ -0,0 +1,25 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "amg.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("8") int minLimit,
+        @DefaultValue("500") int maxLimit,
+        @DefaultValue("1s") Duration window,
+        @DefaultValue("20") int minWindowSamples,
+        @DefaultValue("1.5") double rttTolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("0.9") double readShare,
+        @DefaultValue("0.5") double bulkShare,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue({"/healthz", "/actuator/**"}) List<String> criticalPaths,
+        @DefaultValue List<String> bulkPaths,
+        @DefaultValue List<String> excludedPaths) {
+}
@@ -0,0 +1,20 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "amg.dashboard")
+public record DashboardProperties(
+        @DefaultValue("2s") Duration timeout,
+        @DefaultValue Map<String, Duration> timeouts,
+        @DefaultValue({"10", "50", "100"}) List<BigDecimal> priceBreaks) {
+    
+    public Duration timeoutFor(String section) {
+        return timeouts.getOrDefault(section, timeout);
+    }
+}
@@ -0,0 +1,100 @@
+package com.acme.platform.config;
+
+import com.acme.platform.datasource.EmbeddedReplicaSynchronizer;
+import com.acme.platform.datasource.LsnTrackingJpaTransactionManager;
+import com.acme.platform.datasource.ReadYourWritesFilter;
+import com.acme.platform.datasource.ReplicaRoutingDataSource;
+import com.acme.platform.datasource.ReplicationLog;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to replicas and everything else to the primary. The
+ * {@link LazyConnectionDataSourceProxy} defers fetching a connection until the first
+ * statement, when the transaction's read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "amg.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource, DataSourceRoutingProperties properties) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replica.maximumPoolSize());
+            replicas.add(new ReplicaRoutingDataSource.Replica("replica-" + i, pool));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.healthCheckInterval());
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicationLog replicationLog() {
+        return new ReplicationLog();
+    }
+    
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ReplicationLog replicationLog) {
+        return new LsnTrackingJpaTransactionManager(entityManagerFactory, replicationLog);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "amg.datasource.routing", name = "read-your-writes", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(DataSourceRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.tokenHeader()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "amg.datasource.routing", name = "embedded-sync", havingValue = "true")
+    public EmbeddedReplicaSynchronizer embeddedReplicaSynchronizer(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource, ReplicationLog replicationLog,
+            DataSourceRoutingProperties properties) {
+        return new EmbeddedReplicaSynchronizer(primaryDataSource, replicaRoutingDataSource.getReplicas(),
+                replicationLog, properties.embeddedSyncInterval());
+    }
+}
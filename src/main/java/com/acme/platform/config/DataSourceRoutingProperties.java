@@ -0,0 +1,25 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "amg.datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("true") boolean readYourWrites,
+        @DefaultValue("X-Read-After") String tokenHeader,
+        @DefaultValue("false") boolean embeddedSync,
+        @DefaultValue("500ms") Duration embeddedSyncInterval) {
+    
+    public record Replica(
+            String url,
+            @DefaultValue("sa") String username,
+            @DefaultValue("") String password,
+            @DefaultValue("5") int maximumPoolSize) {
+    }
+}
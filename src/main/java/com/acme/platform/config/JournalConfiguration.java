@@ -0,0 +1,27 @@
+package com.acme.platform.config;
+
+import com.acme.platform.journal.MutationJournal;
+import com.acme.platform.journal.ProductJournalWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(prefix = "amg.journal", name = "enabled", havingValue = "true")
+public class JournalConfiguration {
+    
+    @Bean(destroyMethod = "close")
+    public MutationJournal mutationJournal(JournalProperties properties) throws IOException {
+        return MutationJournal.open(Path.of(properties.directory()),
+                Math.toIntExact(properties.segmentSize().toBytes()), properties.syncInterval());
+    }
+    
+    @Bean
+    public ProductJournalWriter productJournalWriter(MutationJournal journal, ObjectMapper objectMapper) throws IOException {
+        return new ProductJournalWriter(journal, objectMapper);
+    }
+}
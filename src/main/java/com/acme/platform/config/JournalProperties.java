@@ -0,0 +1,15 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amg.journal")
+public record JournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("./data/journal") String directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("200ms") Duration syncInterval) {
+}
@@ -0,0 +1,13 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amg.outbox")
+public record OutboxProperties(
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1h") Duration retention) {
+}
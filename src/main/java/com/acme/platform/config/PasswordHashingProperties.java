@@ -0,0 +1,22 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * BCrypt settings. Without an explicit {@code cost}, the cost is calibrated at startup to the
+ * highest value whose hash time stays within {@code target-latency}, bounded by
+ * {@code min-cost} and {@code max-cost}. {@code threads = 0} uses half the available cores.
+ */
+@ConfigurationProperties(prefix = "amg.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        Integer cost,
+        @DefaultValue("250ms") Duration targetLatency,
+        @DefaultValue("10") int minCost,
+        @DefaultValue("14") int maxCost,
+        @DefaultValue("5s") Duration timeout) {
+}
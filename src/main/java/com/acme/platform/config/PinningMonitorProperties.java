@@ -0,0 +1,14 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amg.pinning-monitor")
+public record PinningMonitorProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20ms") Duration threshold,
+        @DefaultValue("50") int maxSites,
+        @DefaultValue("12") int loggedFrames) {
+}
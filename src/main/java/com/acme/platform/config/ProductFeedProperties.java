@@ -0,0 +1,14 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amg.product-feed")
+public record ProductFeedProperties(
+        @DefaultValue("1024") int replaySize,
+        @DefaultValue("30s") Duration snapshotTtl,
+        @DefaultValue("4096") int subscriberBuffer,
+        @DefaultValue("250ms") Duration conflationInterval) {
+}
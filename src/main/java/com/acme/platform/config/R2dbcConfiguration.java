@@ -0,0 +1,48 @@
+package com.acme.platform.config;
+
+import com.acme.platform.repository.R2dbcProductRepository;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * R2DBC access to the primary H2 database, opened from the JDBC url so both drivers use the
+ * same database in every profile. The pool is owned by {@link R2dbcProductRepository} and is
+ * not exposed as a {@code ConnectionFactory} bean, because Spring Boot skips its
+ * {@code DataSource} auto-configuration when one exists. Products live on the shards when
+ * {@code amg.sharding} is enabled, so the reactive API then stays on JPA.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "amg.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class R2dbcConfiguration {
+    
+    private static final String H2_URL_PREFIX = "jdbc:h2:";
+    
+    @Bean
+    public R2dbcProductRepository r2dbcProductRepository(DataSourceProperties dataSourceProperties,
+                                                         R2dbcPoolProperties properties) {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+            throw new IllegalStateException("R2DBC product reads require an H2 datasource, got " + url);
+        }
+        String password = dataSourceProperties.determinePassword();
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_URL_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername())
+                .password(password != null ? password : "")
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration))
+                .name("r2dbc-products")
+                .initialSize(properties.initialSize())
+                .maxSize(properties.maxSize())
+                .maxIdleTime(properties.maxIdleTime())
+                .maxAcquireTime(properties.maxAcquireTime())
+                .build());
+        return new R2dbcProductRepository(pool);
+    }
+}
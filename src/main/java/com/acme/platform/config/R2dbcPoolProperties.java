@@ -0,0 +1,14 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amg.r2dbc.pool")
+public record R2dbcPoolProperties(
+        @DefaultValue("4") int initialSize,
+        @DefaultValue("32") int maxSize,
+        @DefaultValue("30m") Duration maxIdleTime,
+        @DefaultValue("5s") Duration maxAcquireTime) {
+}
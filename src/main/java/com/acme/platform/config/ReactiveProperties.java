@@ -0,0 +1,9 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "amg.reactive")
+public record ReactiveProperties(
+        @DefaultValue("200") int pageSize) {
+}
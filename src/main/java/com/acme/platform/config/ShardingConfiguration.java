@@ -0,0 +1,99 @@
+package com.acme.platform.config;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductChangeLog;
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.sharding.HashShardMap;
+import com.acme.platform.repository.sharding.ProductIdAllocator;
+import com.acme.platform.repository.sharding.ProductShard;
+import com.acme.platform.repository.sharding.ProductShardRepository;
+import com.acme.platform.repository.sharding.ProductShards;
+import com.acme.platform.repository.sharding.ShardMap;
+import com.acme.platform.repository.sharding.ShardedProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores products across {@code amg.sharding.shards}. Each shard gets its own pool and
+ * persistence unit containing only {@link Product}; the change log, tombstones, users and
+ * everything else stay on the primary datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "amg.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+    
+    private static final String SHARD_MAPPING = "META-INF/orm-product-shard.xml";
+    // Cache regions are named per entity, so shards sharing the primary's regions would
+    // serve each other's query results.
+    private static final Map<String, Object> SHARD_JPA_PROPERTIES = Map.of(
+            "hibernate.hbm2ddl.auto", "update",
+            "hibernate.cache.use_second_level_cache", "false",
+            "hibernate.cache.use_query_cache", "false");
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public ShardMap productShardMap(ShardingProperties properties) {
+        return new HashShardMap(properties.shards().size());
+    }
+    
+    @Bean(destroyMethod = "close")
+    public ProductShards productShards(ShardingProperties properties, ShardMap shardMap,
+                                       EntityManagerFactoryBuilder entityManagerFactoryBuilder) {
+        List<ProductShard> shards = new ArrayList<>();
+        for (int i = 0; i < properties.shards().size(); i++) {
+            ShardingProperties.Shard shard = properties.shards().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            pool.setPoolName("product-shard-" + i);
+            pool.setMaximumPoolSize(shard.maximumPoolSize());
+            LocalContainerEntityManagerFactoryBean factory = entityManagerFactoryBuilder
+                    .dataSource(pool)
+                    .managedTypes(PersistenceManagedTypes.of(List.of(Product.class.getName()), Collections.emptyList()))
+                    .mappingResources(SHARD_MAPPING)
+                    .persistenceUnit("product-shard-" + i)
+                    .properties(SHARD_JPA_PROPERTIES)
+                    .build();
+            factory.afterPropertiesSet();
+            shards.add(new ProductShard(i, factory.getObject(), pool));
+        }
+        return new ProductShards(shards, shardMap);
+    }
+    
+    @Bean
+    @Primary
+    public ProductRepository shardedProductRepository(ProductShards productShards, ProductChangeSequence changeSequence,
+                                                      JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                                      ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                                      ShardingProperties properties) {
+        ProductIdAllocator idAllocator = new ProductIdAllocator(jdbcTemplate, properties.idBlockSize());
+        idAllocator.initialize(productShards.scatter(ProductShardRepository::maxId).stream()
+                .mapToLong(Long::longValue).max().orElse(0L));
+        changeSequence.seed(productShards.scatter(ProductShardRepository::maxChangeSeq).stream()
+                .mapToLong(Long::longValue).max().orElse(0L));
+        return new ShardedProductRepository(productShards, idAllocator, changeSequence,
+                new ProductChangeLog(entityManager, objectMapper), new TransactionTemplate(transactionManager));
+    }
+}
@@ -0,0 +1,11 @@
+package com.acme.platform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "amg.user-bulk")
+public record UserBulkProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("100") int maxReportedErrors,
+        @DefaultValue("500") int exportFetchSize) {
+}
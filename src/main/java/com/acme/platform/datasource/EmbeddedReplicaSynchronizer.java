@@ -0,0 +1,123 @@
+package com.acme.platform.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local stand-in for replication between embedded H2 instances: whenever the primary LSN
+ * has moved, the primary is exported with {@code SCRIPT} and replayed on every replica.
+ * Each sync copies the whole database, so this is for development and tests only.
+ * A replica is taken out of rotation while it is being rewritten.
+ */
+public class EmbeddedReplicaSynchronizer implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedReplicaSynchronizer.class);
+    private static final String EXPORT = "SCRIPT NOPASSWORDS NOSETTINGS DROP";
+    
+    private final DataSource primary;
+    private final List<ReplicaRoutingDataSource.Replica> replicas;
+    private final ReplicationLog replicationLog;
+    private final Duration interval;
+    
+    // A lock rather than a monitor: a sync blocks on JDBC and must not pin a virtual thread.
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private long syncedLsn = -1L;
+    private volatile ScheduledExecutorService scheduler;
+    
+    public EmbeddedReplicaSynchronizer(DataSource primary, List<ReplicaRoutingDataSource.Replica> replicas,
+                                       ReplicationLog replicationLog, Duration interval) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replicationLog = replicationLog;
+        this.interval = interval;
+    }
+    
+    public void syncNow() {
+        syncLock.lock();
+        try {
+            sync();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    private void sync() {
+        // Read the LSN before exporting: the export may contain later commits, but never
+        // fewer, so replicas never claim more than they hold.
+        long lsn = replicationLog.committedLsn();
+        if (lsn == syncedLsn) {
+            return;
+        }
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(EXPORT)) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not export primary for replica sync: {}", e.getMessage());
+            return;
+        }
+        for (ReplicaRoutingDataSource.Replica replica : replicas) {
+            apply(replica, script, lsn);
+        }
+        syncedLsn = lsn;
+    }
+    
+    private void apply(ReplicaRoutingDataSource.Replica replica, List<String> script, long lsn) {
+        replica.setSyncing(true);
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+            replica.setAppliedLsn(lsn);
+            logger.debug("Replica {} synced to LSN {}", replica.getName(), lsn);
+        } catch (SQLException e) {
+            logger.warn("Could not sync replica {}: {}", replica.getName(), e.getMessage());
+        } finally {
+            replica.setSyncing(false);
+        }
+    }
+    
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "embedded-replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::syncNow, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+    
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdownNow();
+            scheduler = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
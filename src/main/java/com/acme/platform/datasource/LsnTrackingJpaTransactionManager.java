@@ -0,0 +1,23 @@
+package com.acme.platform.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+public class LsnTrackingJpaTransactionManager extends JpaTransactionManager {
+    
+    private final ReplicationLog replicationLog;
+    
+    public LsnTrackingJpaTransactionManager(EntityManagerFactory entityManagerFactory, ReplicationLog replicationLog) {
+        super(entityManagerFactory);
+        this.replicationLog = replicationLog;
+    }
+    
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            replicationLog.commit();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.acme.platform.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread read consistency requirements for replica routing. A read-only transaction
+ * may only use a replica that has applied at least {@link #requiredLsn()}; the primary
+ * always qualifies. All methods are cheap no-ops in effect when routing is disabled.
+ */
+public final class ReadConsistency {
+    
+    private static final long PRIMARY_ONLY = Long.MAX_VALUE;
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+    private static final ThreadLocal<Long> LAST_COMMIT_LSN = new ThreadLocal<>();
+    
+    private ReadConsistency() {
+    }
+    
+    public static long requiredLsn() {
+        Long required = REQUIRED_LSN.get();
+        return required != null ? required : 0L;
+    }
+    
+    /**
+     * Runs reads that must see everything committed on the primary, e.g. reads bounded by
+     * an in-process watermark that a lagging replica could silently skip.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Long previous = require(PRIMARY_ONLY);
+        try {
+            return reads.get();
+        } finally {
+            restore(previous);
+        }
+    }
+    
+    /**
+     * Raises the requirement for the current thread and returns the previous value, to be
+     * passed to {@link #restore(Long)}.
+     */
+    public static Long require(long lsn) {
+        Long previous = REQUIRED_LSN.get();
+        REQUIRED_LSN.set(previous != null ? Math.max(previous, lsn) : lsn);
+        return previous;
+    }
+    
+    public static void restore(Long previous) {
+        if (previous == null) {
+            REQUIRED_LSN.remove();
+        } else {
+            REQUIRED_LSN.set(previous);
+        }
+    }
+    
+    public static long lastCommitLsn() {
+        Long lsn = LAST_COMMIT_LSN.get();
+        return lsn != null ? lsn : 0L;
+    }
+    
+    static void recordCommit(long lsn) {
+        LAST_COMMIT_LSN.set(lsn);
+    }
+    
+    static void clearLastCommit() {
+        LAST_COMMIT_LSN.remove();
+    }
+}
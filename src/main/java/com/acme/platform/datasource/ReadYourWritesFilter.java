@@ -0,0 +1,93 @@
+package com.acme.platform.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Session token for read-your-writes. Responses to requests that committed a write carry
+ * the commit LSN in the token header; requests that send it back only read from replicas
+ * that have applied it, or from the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    private final String tokenHeader;
+    
+    public ReadYourWritesFilter(String tokenHeader) {
+        this.tokenHeader = tokenHeader;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long requiredLsn = parseToken(request.getHeader(tokenHeader));
+        Long previous = requiredLsn != null ? ReadConsistency.require(requiredLsn) : null;
+        ReadConsistency.clearLastCommit();
+        TokenResponse tokenResponse = new TokenResponse(response);
+        try {
+            chain.doFilter(request, tokenResponse);
+            tokenResponse.writeToken();
+        } finally {
+            if (requiredLsn != null) {
+                ReadConsistency.restore(previous);
+            }
+            ReadConsistency.clearLastCommit();
+        }
+    }
+    
+    private static Long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private class TokenResponse extends HttpServletResponseWrapper {
+        
+        private boolean written;
+        
+        TokenResponse(HttpServletResponse response) {
+            super(response);
+        }
+        
+        void writeToken() {
+            if (written) {
+                return;
+            }
+            written = true;
+            long lsn = ReadConsistency.lastCommitLsn();
+            if (lsn > 0 && !isCommitted()) {
+                setHeader(tokenHeader, Long.toString(lsn));
+            }
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeToken();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeToken();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            writeToken();
+            super.flushBuffer();
+        }
+    }
+}
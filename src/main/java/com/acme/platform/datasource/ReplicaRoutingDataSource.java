@@ -0,0 +1,157 @@
+package com.acme.platform.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the routing datasource. Picks a healthy replica round-robin among those
+ * that satisfy {@link ReadConsistency#requiredLsn()}, and falls back to the primary when
+ * none does.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private volatile ScheduledExecutorService healthChecker;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthCheckInterval = healthCheckInterval;
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+    
+    DataSource select() {
+        if (replicas.isEmpty()) {
+            return primary;
+        }
+        long required = ReadConsistency.requiredLsn();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable() && replica.getAppliedLsn() >= required) {
+                return replica.getDataSource();
+            }
+        }
+        return primary;
+    }
+    
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.isHealthy()) {
+                logger.warn("Replica {} is now {}", replica.getName(), healthy ? "healthy" : "unhealthy");
+            }
+            replica.setHealthy(healthy);
+        }
+    }
+    
+    @Override
+    public void start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        healthChecker = scheduler;
+        logger.info("Routing read-only transactions across {} replica(s)", replicas.size());
+    }
+    
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = healthChecker;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            healthChecker = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return healthChecker != null;
+    }
+    
+    public static final class Replica {
+        
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile boolean syncing;
+        private volatile long appliedLsn;
+        
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+        
+        public boolean isHealthy() {
+            return healthy;
+        }
+        
+        void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+        
+        boolean isAvailable() {
+            return healthy && !syncing;
+        }
+        
+        void setSyncing(boolean syncing) {
+            this.syncing = syncing;
+        }
+        
+        public long getAppliedLsn() {
+            return appliedLsn;
+        }
+        
+        void setAppliedLsn(long appliedLsn) {
+            this.appliedLsn = appliedLsn;
+        }
+    }
+}
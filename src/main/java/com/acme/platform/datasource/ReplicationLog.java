@@ -0,0 +1,22 @@
+package com.acme.platform.datasource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log sequence number of the primary: incremented once per committed read-write
+ * transaction. Replicas report the LSN they have applied.
+ */
+public class ReplicationLog {
+    
+    private final AtomicLong committedLsn = new AtomicLong();
+    
+    public long committedLsn() {
+        return committedLsn.get();
+    }
+    
+    long commit() {
+        long lsn = committedLsn.incrementAndGet();
+        ReadConsistency.recordCommit(lsn);
+        return lsn;
+    }
+}
@@ -0,0 +1,158 @@
+package com.acme.platform.diagnostics;
+
+import com.acme.platform.config.PinningMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in process and reports every time a
+ * virtual thread blocked for longer than {@code threshold} while pinned to its carrier, e.g.
+ * inside a {@code synchronized} block or a native frame. Each pinning is attributed to the
+ * innermost frame of our own code ({@code com.acme.platform}), or to the innermost frame when
+ * none of ours is on the stack.
+ * <p>
+ * The first pinning at a site is logged with its stack; all of them are timed as
+ * {@code amg.virtual.pinned} tagged by site (at most {@code max-sites} distinct tags) and
+ * listed, worst first, by the {@code pinning} actuator endpoint.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(prefix = "amg.pinning-monitor", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String OWN_PACKAGE = "com.acme.platform.";
+    private static final String OTHER_SITES = "other";
+    
+    private final PinningMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    
+    private volatile RecordingStream stream;
+    
+    public VirtualThreadPinningMonitor(PinningMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.threshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Reporting virtual thread pinning longer than {}", properties.threshold());
+    }
+    
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+            stream = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+    
+    @ReadOperation
+    public List<PinnedSite> report() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(PinnedSite::totalTime).reversed())
+                .toList();
+    }
+    
+    void record(RecordedEvent event) {
+        List<RecordedFrame> frames = framesOf(event.getStackTrace());
+        String site = siteOf(frames);
+        Site stats = sites.get(site);
+        boolean firstAtSite = stats == null;
+        if (firstAtSite) {
+            if (sites.size() >= properties.maxSites()) {
+                site = OTHER_SITES;
+            }
+            stats = sites.computeIfAbsent(site, key -> new Site(Timer.builder("amg.virtual.pinned")
+                    .tag("site", key)
+                    .register(meterRegistry)));
+        }
+        stats.add(event.getDuration());
+        if (firstAtSite && !site.equals(OTHER_SITES)) {
+            logger.warn("Virtual thread pinned for {} ms at {}:{}{}", event.getDuration().toMillis(), site,
+                    System.lineSeparator(), describe(frames));
+        }
+    }
+    
+    static String siteOf(List<RecordedFrame> frames) {
+        RecordedFrame site = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(OWN_PACKAGE))
+                .findFirst()
+                .orElse(frames.isEmpty() ? null : frames.get(0));
+        if (site == null) {
+            return "unknown";
+        }
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+    
+    private String describe(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(properties.loggedFrames())
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+    
+    private static List<RecordedFrame> framesOf(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+    
+    public record PinnedSite(String site, long count, Duration totalTime, Duration maxTime) {
+    }
+    
+    private static final class Site {
+        
+        private final Timer timer;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        
+        Site(Timer timer) {
+            this.timer = timer;
+        }
+        
+        void add(Duration duration) {
+            timer.record(duration);
+            count.incrementAndGet();
+            totalNanos.addAndGet(duration.toNanos());
+            maxNanos.accumulateAndGet(duration.toNanos(), Math::max);
+        }
+        
+        PinnedSite snapshot(String site) {
+            return new PinnedSite(site, count.get(), Duration.ofNanos(totalNanos.get()), Duration.ofNanos(maxNanos.get()));
+        }
+    }
+}
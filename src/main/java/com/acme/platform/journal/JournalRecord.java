@@ -0,0 +1,58 @@
+package com.acme.platform.journal;
+
+/**
+ * One journal entry. {@code sourceVersion} is the change sequence for products and the
+ * JPA version for users; {@code payload} is the JSON state after the mutation (empty for deletes).
+ */
+public record JournalRecord(long seq, long timestampMillis, EntityType entityType, Operation operation,
+                            long entityId, long sourceVersion, byte[] payload) {
+
+    public enum EntityType {
+        PRODUCT((byte) 1),
+        USER((byte) 2);
+
+        private final byte code;
+
+        EntityType(byte code) {
+            this.code = code;
+        }
+
+        byte code() {
+            return code;
+        }
+
+        static EntityType fromCode(byte code) {
+            for (EntityType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journal entity type " + code);
+        }
+    }
+
+    public enum Operation {
+        CREATE((byte) 1),
+        UPDATE((byte) 2),
+        DELETE((byte) 3);
+
+        private final byte code;
+
+        Operation(byte code) {
+            this.code = code;
+        }
+
+        byte code() {
+            return code;
+        }
+
+        static Operation fromCode(byte code) {
+            for (Operation operation : values()) {
+                if (operation.code == code) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journal operation " + code);
+        }
+    }
+}
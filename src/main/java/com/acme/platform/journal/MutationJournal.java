@@ -0,0 +1,293 @@
+package com.acme.platform.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only mutation journal stored in fixed-size, memory-mapped segment files.
+ *
+ * <p>Record layout (big-endian): {@code int bodyLength, int crc32c(body)} followed by the body
+ * {@code long seq, long timestampMillis, byte entityType, byte operation, long entityId,
+ * long sourceVersion, int payloadLength, byte[] payload}. The length is written last, so a
+ * torn write reads as zero and marks the end of the journal. Segments are named after
+ * their first sequence number and rolled when the next record does not fit. Appends only
+ * touch the mapping; {@link #sync()} runs on a timer to batch the fsyncs.
+ */
+public final class MutationJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutationJournal.class);
+    
+    static final int HEADER_BYTES = 8;
+    static final int FIXED_BODY_BYTES = 8 + 8 + 1 + 1 + 8 + 8 + 4;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService syncScheduler;
+    
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSeq;
+    private boolean dirty;
+    private boolean closed;
+    
+    private MutationJournal(Path directory, int segmentSize, Duration syncInterval) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+        this.syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mutation-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, syncInterval.toMillis());
+        syncScheduler.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static MutationJournal open(Path directory, int segmentSize, Duration syncInterval) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Journal segment size must be at least 4096 bytes");
+        }
+        return new MutationJournal(directory, segmentSize, syncInterval);
+    }
+    
+    public long append(JournalRecord.EntityType entityType, JournalRecord.Operation operation,
+                       long entityId, long sourceVersion, byte[] payload) {
+        int bodyLength = FIXED_BODY_BYTES + payload.length;
+        int recordLength = HEADER_BYTES + bodyLength;
+        if (recordLength + HEADER_BYTES > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + recordLength + " bytes exceeds the segment size");
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Mutation journal is closed");
+            }
+            if (buffer.remaining() < recordLength + HEADER_BYTES) {
+                roll();
+            }
+            long seq = nextSeq++;
+            int start = buffer.position();
+            buffer.position(start + HEADER_BYTES);
+            buffer.putLong(seq)
+                    .putLong(System.currentTimeMillis())
+                    .put(entityType.code())
+                    .put(operation.code())
+                    .putLong(entityId)
+                    .putLong(sourceVersion)
+                    .putInt(payload.length)
+                    .put(payload);
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(start + HEADER_BYTES, bodyLength));
+            buffer.putInt(start + 4, (int) crc.getValue());
+            buffer.putInt(start, bodyLength);
+            dirty = true;
+            return seq;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not roll journal segment in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public long nextSeq() {
+        lock.lock();
+        try {
+            return nextSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void sync() {
+        MappedByteBuffer target;
+        lock.lock();
+        try {
+            if (!dirty || closed) {
+                return;
+            }
+            target = buffer;
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        target.force();
+    }
+    
+    /**
+     * Replays every intact record with {@code seq >= fromSeq} in order. Whole segments below
+     * {@code fromSeq} are skipped by name without being read.
+     */
+    public void replay(long fromSeq, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSeqOf(segments.get(i + 1)) <= fromSeq) {
+                continue;
+            }
+            ByteBuffer segment = mapReadOnly(segments.get(i));
+            JournalRecord record;
+            while ((record = read(segment)) != null) {
+                if (record.seq() >= fromSeq) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Highest {@code sourceVersion} journaled for an entity type, scanning segments newest
+     * first and stopping at the first segment that contains the type.
+     */
+    public long lastSourceVersion(JournalRecord.EntityType entityType) throws IOException {
+        List<Path> segments = segments();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ByteBuffer segment = mapReadOnly(segments.get(i));
+            long highest = -1L;
+            JournalRecord record;
+            while ((record = read(segment)) != null) {
+                if (record.entityType() == entityType) {
+                    highest = Math.max(highest, record.sourceVersion());
+                }
+            }
+            if (highest >= 0) {
+                return highest;
+            }
+        }
+        return 0L;
+    }
+    
+    @Override
+    public void close() {
+        syncScheduler.shutdown();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Could not close journal segment in {}: {}", directory, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void recover() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            nextSeq = 1;
+            openSegment(1);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        long lastSeq = firstSeqOf(last) - 1;
+        JournalRecord record;
+        while ((record = read(buffer)) != null) {
+            lastSeq = record.seq();
+        }
+        nextSeq = lastSeq + 1;
+        // Anything after the last intact record is a torn write; clear it so the next append
+        // starts from a clean end marker.
+        int end = buffer.position();
+        for (int i = end; i < Math.min(buffer.limit(), end + HEADER_BYTES); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        logger.info("Opened mutation journal in {} at seq {} ({} segments)", directory, nextSeq, segments.size());
+    }
+    
+    private void roll() throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(nextSeq);
+        logger.debug("Rolled mutation journal to segment starting at seq {}", nextSeq);
+    }
+    
+    private void openSegment(long firstSeq) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+    
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+    
+    private static long firstSeqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private static ByteBuffer mapReadOnly(Path segment) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+        }
+    }
+    
+    static JournalRecord read(ByteBuffer segment) {
+        int start = segment.position();
+        if (segment.limit() - start < HEADER_BYTES) {
+            return null;
+        }
+        int bodyLength = segment.getInt(start);
+        if (bodyLength < FIXED_BODY_BYTES || bodyLength > segment.limit() - start - HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer body = segment.slice(start + HEADER_BYTES, bodyLength);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != segment.getInt(start + 4)) {
+            return null;
+        }
+        long seq = body.getLong();
+        long timestamp = body.getLong();
+        JournalRecord.EntityType entityType = JournalRecord.EntityType.fromCode(body.get());
+        JournalRecord.Operation operation = JournalRecord.Operation.fromCode(body.get());
+        long entityId = body.getLong();
+        long sourceVersion = body.getLong();
+        byte[] payload = new byte[body.getInt()];
+        body.get(payload);
+        segment.position(start + HEADER_BYTES + bodyLength);
+        return new JournalRecord(seq, timestamp, entityType, operation, entityId, sourceVersion, payload);
+    }
+    
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            logger.warn("Mutation journal sync failed: {}", e.getMessage());
+        }
+    }
+}
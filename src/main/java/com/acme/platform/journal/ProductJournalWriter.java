@@ -0,0 +1,49 @@
+package com.acme.platform.journal;
+
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.service.ProductChangeListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Journals product changes as the outbox relay publishes them. The relay redelivers after a
+ * restart, so events at or below the last journaled change sequence are skipped.
+ */
+public class ProductJournalWriter implements ProductChangeListener {
+    
+    private static final byte[] NO_PAYLOAD = new byte[0];
+    
+    private final MutationJournal journal;
+    private final ObjectMapper objectMapper;
+    private volatile long lastJournaledSeq;
+    
+    public ProductJournalWriter(MutationJournal journal, ObjectMapper objectMapper) throws IOException {
+        this.journal = journal;
+        this.objectMapper = objectMapper;
+        this.lastJournaledSeq = journal.lastSourceVersion(JournalRecord.EntityType.PRODUCT);
+    }
+    
+    @Override
+    public void onProductChange(ProductChangeEvent event) {
+        if (event.seq() <= lastJournaledSeq) {
+            return;
+        }
+        JournalRecord.Operation operation = switch (event.type()) {
+            case CREATED -> JournalRecord.Operation.CREATE;
+            case UPDATED -> JournalRecord.Operation.UPDATE;
+            case DELETED -> JournalRecord.Operation.DELETE;
+        };
+        byte[] payload = NO_PAYLOAD;
+        if (event.product() != null) {
+            try {
+                payload = objectMapper.writeValueAsBytes(event.product());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize product " + event.productId(), e);
+            }
+        }
+        journal.append(JournalRecord.EntityType.PRODUCT, operation, event.productId(), event.seq(), payload);
+        lastJournaledSeq = event.seq();
+    }
+}
@@ -0,0 +1,84 @@
+package com.acme.platform.journal;
+
+import com.acme.platform.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JPA entity listener that journals user mutations once their transaction commits.
+ * Instantiated by Hibernate through Spring's bean container; does nothing while the
+ * journal is disabled. Passwords are never written to the journal.
+ */
+public class UserJournalListener {
+    
+    private static final byte[] NO_PAYLOAD = new byte[0];
+    
+    private final ObjectProvider<MutationJournal> journal;
+    private final ObjectMapper objectMapper;
+    
+    public UserJournalListener(ObjectProvider<MutationJournal> journal, ObjectMapper objectMapper) {
+        this.journal = journal;
+        this.objectMapper = objectMapper;
+    }
+    
+    @PostPersist
+    public void onCreate(User user) {
+        record(JournalRecord.Operation.CREATE, user, payloadOf(user, objectMapper));
+    }
+    
+    @PostUpdate
+    public void onUpdate(User user) {
+        record(JournalRecord.Operation.UPDATE, user, payloadOf(user, objectMapper));
+    }
+    
+    @PostRemove
+    public void onDelete(User user) {
+        record(JournalRecord.Operation.DELETE, user, NO_PAYLOAD);
+    }
+    
+    private void record(JournalRecord.Operation operation, User user, byte[] payload) {
+        MutationJournal target = journal.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        long id = user.getId();
+        long version = user.getVersion() != null ? user.getVersion() : 0L;
+        Runnable append = () -> target.append(JournalRecord.EntityType.USER, operation, id, version, payload);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append.run();
+                }
+            });
+        } else {
+            append.run();
+        }
+    }
+    
+    /**
+     * The journal payload of a user: its state without the password.
+     */
+    public static byte[] payloadOf(User user, ObjectMapper objectMapper) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("id", user.getId());
+        state.put("name", user.getName());
+        state.put("email", user.getEmail());
+        state.put("address", user.getAddress());
+        state.put("version", user.getVersion());
+        try {
+            return objectMapper.writeValueAsBytes(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user " + user.getId(), e);
+        }
+    }
+}
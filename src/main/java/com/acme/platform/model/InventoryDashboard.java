@@ -0,0 +1,24 @@
+package com.acme.platform.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Inventory figures gathered concurrently. A section that failed or missed its timeout is
+ * {@code null} and named in {@code degraded}.
+ */
+public record InventoryDashboard(
+        BigDecimal totalValue,
+        Long count,
+        Long inStock,
+        Long outOfStock,
+        List<PriceRange> priceRanges,
+        List<String> degraded) {
+    
+    /**
+     * Products priced from {@code min} (inclusive) up to {@code max} (exclusive); either bound
+     * may be open.
+     */
+    public record PriceRange(BigDecimal min, BigDecimal max, Long count) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.acme.platform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_offsets")
+public class OutboxOffset {
+    
+    @Id
+    @Column(length = 64)
+    private String consumer;
+    
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+    
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+    
+    public OutboxOffset() {
+    }
+    
+    public OutboxOffset(String consumer, Long lastSeq, Instant updatedAt) {
+        this.consumer = consumer;
+        this.lastSeq = lastSeq;
+        this.updatedAt = updatedAt;
+    }
+    
+    public String getConsumer() {
+        return consumer;
+    }
+    
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+    
+    public Long getLastSeq() {
+        return lastSeq;
+    }
+    
+    public void setLastSeq(Long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
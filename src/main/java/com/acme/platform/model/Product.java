@@ -1,14 +1,26 @@
 package com.acme.platform.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_products_price", columnList = "price"),
+        @Index(name = "idx_products_stock", columnList = "stock"),
+        @Index(name = "idx_products_name", columnList = "name")
+})
 public class Product {
     
     @Id
@@ -32,6 +44,22 @@ public class Product {
     @Column(nullable = false)
     private Integer stock;
     
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+    
     public Product() {
     }
     
@@ -81,5 +109,49 @@ public class Product {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+    
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now();
+        createdAt = now;
+        updatedAt = now;
+    }
+    
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
 }
 
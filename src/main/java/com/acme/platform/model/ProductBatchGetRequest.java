@@ -0,0 +1,8 @@
+package com.acme.platform.model;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ProductBatchGetRequest(@NotNull List<Long> ids) {
+}
@@ -0,0 +1,10 @@
+package com.acme.platform.model;
+
+import java.util.List;
+
+/**
+ * Products found for a multi-get, in the order their ids were requested, and the requested
+ * ids that do not exist.
+ */
+public record ProductBatchGetResult(List<Product> products, List<Long> missingIds) {
+}
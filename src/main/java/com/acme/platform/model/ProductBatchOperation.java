@@ -0,0 +1,13 @@
+package com.acme.platform.model;
+
+/**
+ * One item of a batch mutation. {@code UPSERT} creates {@code product} when {@code id} is
+ * null and otherwise updates the existing product {@code id}; {@code DELETE} removes it.
+ */
+public record ProductBatchOperation(Type type, Long id, Product product) {
+
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+}
@@ -0,0 +1,13 @@
+package com.acme.platform.model;
+
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch mutation, in request order. {@code status} uses the code the
+ * single-item endpoint would have answered with: 201, 200, 204, 400, 404 or 409.
+ */
+public record ProductBatchResult(List<Item> results) {
+    
+    public record Item(int index, Long id, int status, String error) {
+    }
+}
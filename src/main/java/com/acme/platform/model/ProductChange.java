@@ -0,0 +1,24 @@
+package com.acme.platform.model;
+
+public record ProductChange(Type type, Long productId, long changeSeq, Product product) {
+
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    public static ProductChange upsert(Product product) {
+        return new ProductChange(Type.UPSERT, product.getId(), product.getChangeSeq(), product);
+    }
+
+    public static ProductChange delete(ProductTombstone tombstone) {
+        return new ProductChange(Type.DELETE, tombstone.getProductId(), tombstone.getChangeSeq(), null);
+    }
+
+    public static ProductChange of(ProductChangeEvent event) {
+        if (event.type() == ProductChangeEvent.Type.DELETED) {
+            return new ProductChange(Type.DELETE, event.productId(), event.seq(), null);
+        }
+        return new ProductChange(Type.UPSERT, event.productId(), event.seq(), event.product().toProduct());
+    }
+}
@@ -0,0 +1,12 @@
+package com.acme.platform.model;
+
+import java.time.Instant;
+
+public record ProductChangeEvent(long seq, Type type, Long productId, ProductSnapshot product, Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
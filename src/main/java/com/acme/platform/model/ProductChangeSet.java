@@ -0,0 +1,6 @@
+package com.acme.platform.model;
+
+import java.util.List;
+
+public record ProductChangeSet(List<ProductChange> changes, String nextToken, boolean hasMore) {
+}
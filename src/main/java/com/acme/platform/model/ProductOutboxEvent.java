@@ -0,0 +1,81 @@
+package com.acme.platform.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "product_outbox")
+public class ProductOutboxEvent {
+    
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private ProductChangeEvent.Type type;
+    
+    @Column(length = 2000)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    public ProductOutboxEvent() {
+    }
+    
+    public ProductOutboxEvent(Long seq, Long productId, ProductChangeEvent.Type type, String payload, Instant createdAt) {
+        this.seq = seq;
+        this.productId = productId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public ProductChangeEvent.Type getType() {
+        return type;
+    }
+    
+    public void setType(ProductChangeEvent.Type type) {
+        this.type = type;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.acme.platform.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ProductSnapshot(Long id, String name, String description, BigDecimal price, Integer stock,
+                              Long version, Instant createdAt, Instant updatedAt, Long changeSeq) {
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getVersion(),
+                product.getCreatedAt(), product.getUpdatedAt(), product.getChangeSeq());
+    }
+
+    public Product toProduct() {
+        Product product = new Product(name, description, price, stock);
+        product.setId(id);
+        product.setVersion(version);
+        product.setCreatedAt(createdAt);
+        product.setUpdatedAt(updatedAt);
+        product.setChangeSeq(changeSeq);
+        return product;
+    }
+}
@@ -0,0 +1,19 @@
+package com.acme.platform.model;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record ProductStockPriceUpdate(
+        @NotNull Long id,
+        @DecimalMin(value = "0.0", inclusive = false) BigDecimal price,
+        @Min(0) Integer stock) {
+
+    public ProductStockPriceUpdate mergedWith(ProductStockPriceUpdate newer) {
+        return new ProductStockPriceUpdate(id,
+                newer.price() != null ? newer.price() : price,
+                newer.stock() != null ? newer.stock() : stock);
+    }
+}
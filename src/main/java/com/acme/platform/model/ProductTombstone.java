@@ -0,0 +1,52 @@
+package com.acme.platform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "product_tombstones", indexes = @Index(name = "idx_product_tombstones_change_seq", columnList = "change_seq"))
+public class ProductTombstone {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+    
+    public ProductTombstone() {
+    }
+    
+    public ProductTombstone(Long productId, Long changeSeq, Instant deletedAt) {
+        this.productId = productId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+    
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
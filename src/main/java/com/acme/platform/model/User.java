@@ -1,12 +1,26 @@
 package com.acme.platform.model;
 
+import com.acme.platform.journal.UserJournalListener;
+import com.acme.platform.service.EmailRegistryListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.util.Locale;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Table(name = "users")
+@EntityListeners({UserJournalListener.class, EmailRegistryListener.class})
 public class User {
     
     @Id
@@ -23,6 +37,16 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
     
+    @JsonIgnore
+    @NaturalId(mutable = true)
+    @Column(name = "email_normalized", nullable = false, unique = true)
+    private String emailNormalized;
+    
+    // Normalized email as last read from or written to the database
+    @JsonIgnore
+    @Transient
+    private String storedEmailNormalized;
+    
     @Size(max = 100)
     private String address;
     
@@ -31,12 +55,16 @@ public class User {
     @Column(nullable = false)
     private String password;
     
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
     public User() {
     }
     
     public User(String name, String email, String address, String password) {
         this.name = name;
-        this.email = email;
+        setEmail(email);
         this.address = address;
         this.password = password;
     }
@@ -63,6 +91,15 @@ public class User {
     
     public void setEmail(String email) {
         this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+    
+    public String getEmailNormalized() {
+        return emailNormalized;
+    }
+    
+    public String getStoredEmailNormalized() {
+        return storedEmailNormalized;
     }
     
     public String getAddress() {
@@ -80,5 +117,27 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberStoredEmail() {
+        storedEmailNormalized = emailNormalized;
+    }
+    
+    /**
+     * The case-insensitive uniqueness key for an email address.
+     */
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
 }
 
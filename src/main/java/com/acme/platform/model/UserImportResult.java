@@ -0,0 +1,14 @@
+package com.acme.platform.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import. {@code errors} lists rejected lines up to the configured
+ * limit; the counters always cover every line. Batches commit independently, so lines counted
+ * as {@code failed} were not stored while {@code imported} ones were.
+ */
+public record UserImportResult(int imported, int duplicates, int invalid, int failed, List<Error> errors) {
+    
+    public record Error(int line, String email, String reason) {
+    }
+}
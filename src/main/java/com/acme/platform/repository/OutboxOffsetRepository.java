@@ -0,0 +1,9 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+}
@@ -0,0 +1,51 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.model.ProductOutboxEvent;
+import com.acme.platform.model.ProductSnapshot;
+import com.acme.platform.model.ProductTombstone;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+
+/**
+ * Writes the records that accompany a product write in the same transaction: the outbox
+ * row and, for deletes, the tombstone.
+ */
+public class ProductChangeLog {
+    
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    
+    public ProductChangeLog(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+    
+    public void recordWrite(long seq, Product product, ProductChangeEvent.Type type) {
+        append(seq, product.getId(), type, ProductSnapshot.of(product));
+    }
+    
+    public void recordDelete(long seq, Long productId) {
+        entityManager.persist(new ProductTombstone(productId, seq, Instant.now()));
+        append(seq, productId, ProductChangeEvent.Type.DELETED, null);
+    }
+    
+    private void append(long seq, Long productId, ProductChangeEvent.Type type, ProductSnapshot snapshot) {
+        entityManager.persist(new ProductOutboxEvent(seq, productId, type, toJson(snapshot), Instant.now()));
+    }
+    
+    private String toJson(ProductSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize product " + snapshot.id() + " for the outbox", e);
+        }
+    }
+}
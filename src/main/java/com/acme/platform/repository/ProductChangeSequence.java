@@ -0,0 +1,89 @@
+package com.acme.platform.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Monotonic change sequence for product writes. Numbers handed out inside a transaction
+ * stay in flight until it completes, so {@link #stableWatermark()} never passes a write
+ * that could still commit and readers never skip over it.
+ */
+@Component
+public class ProductChangeSequence {
+    
+    private static final List<String> SEED_QUERIES = List.of(
+            "select max(p.changeSeq) from Product p",
+            "select max(t.changeSeq) from ProductTombstone t",
+            "select max(e.seq) from ProductOutboxEvent e");
+    
+    private final EntityManager entityManager;
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private final List<Runnable> commitListeners = new CopyOnWriteArrayList<>();
+    private long last;
+    
+    public ProductChangeSequence(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @PostConstruct
+    void initialize() {
+        long highest = 0L;
+        for (String jpql : SEED_QUERIES) {
+            highest = Math.max(highest, maxOf(jpql));
+        }
+        seed(highest);
+    }
+    
+    public synchronized void seed(long value) {
+        last = Math.max(last, value);
+    }
+    
+    public synchronized long next() {
+        long seq = ++last;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(seq);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(seq);
+                    if (status == STATUS_COMMITTED) {
+                        commitListeners.forEach(Runnable::run);
+                    }
+                }
+            });
+        }
+        return seq;
+    }
+    
+    /**
+     * The highest sequence number handed out so far, committed or not.
+     */
+    public synchronized long current() {
+        return last;
+    }
+    
+    public void onCommit(Runnable listener) {
+        commitListeners.add(listener);
+    }
+    
+    public synchronized long stableWatermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+    
+    private synchronized void release(long seq) {
+        inFlight.remove(seq);
+    }
+    
+    private long maxOf(String jpql) {
+        Long max = entityManager.createQuery(jpql, Long.class).getSingleResult();
+        return max != null ? max : 0L;
+    }
+}
@@ -0,0 +1,22 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+
+import java.util.List;
+
+/**
+ * Overrides the CRUD write methods of {@link ProductRepository} so every product write
+ * is stamped with a change sequence number and every delete leaves a tombstone.
+ */
+public interface ProductChangeTracking {
+    <S extends Product> S save(S product);
+    
+    <S extends Product> List<S> saveAll(Iterable<S> products);
+    
+    void deleteById(Long id);
+    
+    /**
+     * Deletes the product, returning the number of rows removed (0 or 1).
+     */
+    int removeById(Long id);
+}
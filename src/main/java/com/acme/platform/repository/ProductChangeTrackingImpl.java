@@ -0,0 +1,87 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductChangeTrackingImpl implements ProductChangeTracking {
+    
+    private final EntityManager entityManager;
+    private final ProductChangeSequence changeSequence;
+    private final ProductChangeLog changeLog;
+    private final JpaEntityInformation<Product, ?> entityInformation;
+    
+    public ProductChangeTrackingImpl(EntityManager entityManager, ProductChangeSequence changeSequence, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.changeSequence = changeSequence;
+        this.changeLog = new ProductChangeLog(entityManager, objectMapper);
+        this.entityInformation = JpaEntityInformationSupport.getEntityInformation(Product.class, entityManager);
+    }
+    
+    @Override
+    @Transactional
+    public <S extends Product> S save(S product) {
+        Tracked<S> tracked = write(product);
+        entityManager.flush();
+        changeLog.recordWrite(tracked.seq(), tracked.product(), tracked.type());
+        return tracked.product();
+    }
+    
+    @Override
+    @Transactional
+    public <S extends Product> List<S> saveAll(Iterable<S> products) {
+        List<Tracked<S>> batch = new ArrayList<>();
+        for (S product : products) {
+            batch.add(write(product));
+        }
+        // One flush for the whole batch lets Hibernate group the UPDATEs into JDBC batches.
+        entityManager.flush();
+        List<S> saved = new ArrayList<>(batch.size());
+        for (Tracked<S> tracked : batch) {
+            changeLog.recordWrite(tracked.seq(), tracked.product(), tracked.type());
+            saved.add(tracked.product());
+        }
+        return saved;
+    }
+    
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        removeById(id);
+    }
+    
+    @Override
+    @Transactional
+    public int removeById(Long id) {
+        // A bulk DELETE would skip lifecycle callbacks and clear the whole second-level cache
+        // region; loading through the cache keeps a cached product at one DELETE statement.
+        Product product = entityManager.find(Product.class, id);
+        if (product == null) {
+            return 0;
+        }
+        long seq = changeSequence.next();
+        entityManager.remove(product);
+        changeLog.recordDelete(seq, id);
+        return 1;
+    }
+    
+    private <S extends Product> Tracked<S> write(S product) {
+        long seq = changeSequence.next();
+        product.setChangeSeq(seq);
+        if (entityInformation.isNew(product)) {
+            entityManager.persist(product);
+            return new Tracked<>(seq, product, ProductChangeEvent.Type.CREATED);
+        }
+        return new Tracked<>(seq, entityManager.merge(product), ProductChangeEvent.Type.UPDATED);
+    }
+    
+    private record Tracked<S extends Product>(long seq, S product, ProductChangeEvent.Type type) {
+    }
+}
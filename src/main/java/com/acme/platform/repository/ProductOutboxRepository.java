@@ -0,0 +1,24 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.ProductOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long> {
+    @Query("select e from ProductOutboxEvent e where e.seq > :after and e.seq <= :upTo order by e.seq")
+    List<ProductOutboxEvent> findBetween(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+    
+    @Transactional
+    @Modifying
+    @Query("delete from ProductOutboxEvent e where e.seq <= :relayed and e.createdAt < :cutoff")
+    int deleteRelayedBefore(@Param("relayed") long relayed, @Param("cutoff") Instant cutoff);
+}
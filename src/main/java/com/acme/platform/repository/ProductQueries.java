@@ -0,0 +1,35 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Product query methods shared by {@link ProductRepository} and the per-shard
+ * {@link com.acme.platform.repository.sharding.ProductShardRepository}.
+ */
+public interface ProductQueries {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Product> findByNameContainingIgnoreCase(String name);
+    
+    /**
+     * Keyset page of products with an id above {@code id}; pass page 0 sorted by id.
+     */
+    List<Product> findByIdGreaterThan(Long id, Pageable pageable);
+    
+    List<Product> findByNameContainingIgnoreCaseAndIdGreaterThan(String name, Long id, Pageable pageable);
+    
+    @Query("select p from Product p where p.changeSeq > :since and p.changeSeq <= :upTo order by p.changeSeq")
+    List<Product> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+    
+    @Query("select coalesce(sum(p.price * p.stock), 0) from Product p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    BigDecimal totalInventoryValue();
+}
@@ -0,0 +1,16 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.ProductTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+    @Query("select t from ProductTombstone t where t.changeSeq > :since and t.changeSeq <= :upTo order by t.changeSeq")
+    List<ProductTombstone> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+}
@@ -0,0 +1,95 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Reads the {@code products} table over R2DBC, next to the JPA {@link ProductRepository} and on
+ * the same database and schema. Queries wait for a pooled connection instead of a thread.
+ * Writes stay on JPA, which stamps change sequence numbers and writes the change log.
+ */
+public class R2dbcProductRepository implements DisposableBean {
+    
+    private static final String SELECT = "select id, name, description, price, stock, version, created_at, updated_at, "
+            + "change_seq from products";
+    
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+    
+    public R2dbcProductRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+    
+    public Mono<Product> findById(Long id) {
+        return databaseClient.sql(SELECT + " where id = :id")
+                .bind("id", id)
+                .map(R2dbcProductRepository::toProduct)
+                .one();
+    }
+    
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        return databaseClient.sql(SELECT + " where id in (:ids)")
+                .bind("ids", ids)
+                .map(R2dbcProductRepository::toProduct)
+                .all();
+    }
+    
+    /**
+     * Keyset page: at most {@code limit} products with an id above {@code afterId}, in id order.
+     */
+    public Flux<Product> findPageAfter(long afterId, int limit) {
+        return databaseClient.sql(SELECT + " where id > :afterId order by id limit :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(R2dbcProductRepository::toProduct)
+                .all();
+    }
+    
+    public Flux<Product> findPageByNameAfter(String name, long afterId, int limit) {
+        return databaseClient.sql(SELECT + " where lower(name) like :pattern escape '\\' and id > :afterId "
+                        + "order by id limit :limit")
+                .bind("pattern", "%" + escapeLike(name.toLowerCase(Locale.ROOT)) + "%")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(R2dbcProductRepository::toProduct)
+                .all();
+    }
+    
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from products")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+    
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+    
+    private static Product toProduct(Row row, RowMetadata metadata) {
+        Product product = new Product(row.get("name", String.class), row.get("description", String.class),
+                row.get("price", BigDecimal.class), row.get("stock", Integer.class));
+        product.setId(row.get("id", Long.class));
+        product.setVersion(row.get("version", Long.class));
+        product.setCreatedAt(row.get("created_at", OffsetDateTime.class).toInstant());
+        product.setUpdatedAt(row.get("updated_at", OffsetDateTime.class).toInstant());
+        product.setChangeSeq(row.get("change_seq", Long.class));
+        return product;
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
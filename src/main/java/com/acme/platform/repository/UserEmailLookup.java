@@ -0,0 +1,13 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.User;
+
+import java.util.Optional;
+
+/**
+ * Looks users up by their natural id, the normalized email, so lookups ignore case and
+ * repeated checks are served from the natural-id and entity caches instead of a query.
+ */
+public interface UserEmailLookup {
+    Optional<User> findByEmail(String email);
+}
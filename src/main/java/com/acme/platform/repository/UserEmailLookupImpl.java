@@ -0,0 +1,28 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserEmailLookupImpl implements UserEmailLookup {
+    
+    private final EntityManager entityManager;
+    
+    public UserEmailLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(User.normalizeEmail(email));
+    }
+}
@@ -0,0 +1,18 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.User;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Single-transaction user writes. The user is loaded through the persistence context and
+ * second-level cache, so a cached user costs one UPDATE or DELETE statement. Email conflicts
+ * surface as {@link org.springframework.dao.DataIntegrityViolationException} from the unique
+ * constraint rather than from a separate lookup.
+ */
+public interface UserMutations {
+    Optional<User> updateById(Long id, Consumer<User> changes);
+    
+    int removeById(Long id);
+}
@@ -0,0 +1,40 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.User;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public class UserMutationsImpl implements UserMutations {
+    
+    private final EntityManager entityManager;
+    
+    public UserMutationsImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    @Transactional
+    public Optional<User> updateById(Long id, Consumer<User> changes) {
+        User user = entityManager.find(User.class, id);
+        if (user == null) {
+            return Optional.empty();
+        }
+        changes.accept(user);
+        entityManager.flush();
+        return Optional.of(user);
+    }
+    
+    @Override
+    @Transactional
+    public int removeById(Long id) {
+        User user = entityManager.find(User.class, id);
+        if (user == null) {
+            return 0;
+        }
+        entityManager.remove(user);
+        return 1;
+    }
+}
@@ -0,0 +1,359 @@
+package com.acme.platform.repository.columnar;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link ProductRepository} that answers reads from {@link ProductColumns} and sends writes to
+ * the JPA repository, so H2 stays the durable copy and the change log is written as before.
+ * A write is applied to the columns once its transaction commits; the outbox relay delivers
+ * the same change again, which also covers writes that bypass this repository.
+ *
+ * <p>Specifications and sorts the columnar engine cannot evaluate, and query-by-example,
+ * are passed to the JPA repository.
+ */
+public final class ColumnarProductRepository implements ProductRepository {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarProductRepository.class);
+    
+    private final ProductColumns columns;
+    private final ProductRepository delegate;
+    private final ProductChangeSequence changeSequence;
+    
+    public ColumnarProductRepository(ProductColumns columns, ProductRepository delegate,
+                                     ProductChangeSequence changeSequence) {
+        this.columns = columns;
+        this.delegate = delegate;
+        this.changeSequence = changeSequence;
+    }
+    
+    // Writes
+    
+    @Override
+    public <S extends Product> S save(S product) {
+        S saved = delegate.save(product);
+        afterCommit(() -> columns.put(saved));
+        return saved;
+    }
+    
+    @Override
+    public <S extends Product> S saveAndFlush(S product) {
+        S saved = delegate.saveAndFlush(product);
+        afterCommit(() -> columns.put(saved));
+        return saved;
+    }
+    
+    @Override
+    public <S extends Product> List<S> saveAll(Iterable<S> products) {
+        List<S> saved = delegate.saveAll(products);
+        afterCommit(() -> saved.forEach(columns::put));
+        return saved;
+    }
+    
+    @Override
+    public <S extends Product> List<S> saveAllAndFlush(Iterable<S> products) {
+        List<S> saved = delegate.saveAllAndFlush(products);
+        afterCommit(() -> saved.forEach(columns::put));
+        return saved;
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        removeAfterCommit(List.of(id));
+    }
+    
+    @Override
+    public int removeById(Long id) {
+        int removed = delegate.removeById(id);
+        if (removed != 0) {
+            removeAfterCommit(List.of(id));
+        }
+        return removed;
+    }
+    
+    @Override
+    public void delete(Product product) {
+        List<Long> ids = List.of(product.getId());
+        delegate.delete(product);
+        removeAfterCommit(ids);
+    }
+    
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        List<Long> removed = new ArrayList<>();
+        ids.forEach(removed::add);
+        delegate.deleteAllById(ids);
+        removeAfterCommit(removed);
+    }
+    
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        List<Long> removed = new ArrayList<>();
+        ids.forEach(removed::add);
+        delegate.deleteAllByIdInBatch(ids);
+        removeAfterCommit(removed);
+    }
+    
+    @Override
+    public void deleteAll(Iterable<? extends Product> products) {
+        List<Long> ids = idsOf(products);
+        delegate.deleteAll(products);
+        removeAfterCommit(ids);
+    }
+    
+    @Override
+    public void deleteAllInBatch(Iterable<Product> products) {
+        List<Long> ids = idsOf(products);
+        delegate.deleteAllInBatch(products);
+        removeAfterCommit(ids);
+    }
+    
+    @Override
+    public long delete(Specification<Product> spec) {
+        List<Long> ids = idsMatching(spec);
+        long removed = delegate.delete(spec);
+        removeAfterCommit(ids);
+        return removed;
+    }
+    
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        afterCommit(() -> columns.removeAll(changeSequence.current()));
+    }
+    
+    @Override
+    public void deleteAllInBatch() {
+        delegate.deleteAllInBatch();
+        afterCommit(() -> columns.removeAll(changeSequence.current()));
+    }
+    
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+    
+    // Lookups by id
+    
+    @Override
+    public Optional<Product> findById(Long id) {
+        return columns.find(id);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return columns.find(id).isPresent();
+    }
+    
+    @Override
+    public Product getReferenceById(Long id) {
+        return columns.find(id).orElseThrow(() -> new EntityNotFoundException("Product " + id + " not found"));
+    }
+    
+    @Override
+    @Deprecated
+    public Product getById(Long id) {
+        return getReferenceById(id);
+    }
+    
+    @Override
+    @Deprecated
+    public Product getOne(Long id) {
+        return getReferenceById(id);
+    }
+    
+    @Override
+    public List<Product> findAllById(Iterable<Long> ids) {
+        return columns.findAll(ids);
+    }
+    
+    // Queries
+    
+    @Override
+    public List<Product> findAll() {
+        return columns.select(null, Sort.unsorted());
+    }
+    
+    @Override
+    public List<Product> findAll(Sort sort) {
+        return columnarOr("findAll", () -> columns.select(null, sort), () -> delegate.findAll(sort));
+    }
+    
+    @Override
+    public Page<Product> findAll(Pageable pageable) {
+        return columnarOr("findAll", () -> columns.page(null, pageable), () -> delegate.findAll(pageable));
+    }
+    
+    @Override
+    public List<Product> findAll(Specification<Product> spec) {
+        return columnarOr("findAll", () -> columns.select(spec, Sort.unsorted()), () -> delegate.findAll(spec));
+    }
+    
+    @Override
+    public List<Product> findAll(Specification<Product> spec, Sort sort) {
+        return columnarOr("findAll", () -> columns.select(spec, sort), () -> delegate.findAll(spec, sort));
+    }
+    
+    @Override
+    public Page<Product> findAll(Specification<Product> spec, Pageable pageable) {
+        return columnarOr("findAll", () -> columns.page(spec, pageable), () -> delegate.findAll(spec, pageable));
+    }
+    
+    @Override
+    public Optional<Product> findOne(Specification<Product> spec) {
+        return columnarOr("findOne", () -> columns.findOne(spec), () -> delegate.findOne(spec));
+    }
+    
+    @Override
+    public long count() {
+        return columns.count();
+    }
+    
+    @Override
+    public long count(Specification<Product> spec) {
+        return columnarOr("count", () -> columns.count(spec), () -> delegate.count(spec));
+    }
+    
+    @Override
+    public boolean exists(Specification<Product> spec) {
+        return columnarOr("exists", () -> columns.exists(spec), () -> delegate.exists(spec));
+    }
+    
+    @Override
+    public <S extends Product> Optional<S> findOne(Example<S> example) {
+        return delegate.findOne(example);
+    }
+    
+    @Override
+    public <S extends Product> List<S> findAll(Example<S> example) {
+        return delegate.findAll(example);
+    }
+    
+    @Override
+    public <S extends Product> List<S> findAll(Example<S> example, Sort sort) {
+        return delegate.findAll(example, sort);
+    }
+    
+    @Override
+    public <S extends Product> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return delegate.findAll(example, pageable);
+    }
+    
+    @Override
+    public <S extends Product> long count(Example<S> example) {
+        return delegate.count(example);
+    }
+    
+    @Override
+    public <S extends Product> boolean exists(Example<S> example) {
+        return delegate.exists(example);
+    }
+    
+    @Override
+    public <S extends Product, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return delegate.findBy(example, queryFunction);
+    }
+    
+    @Override
+    public <S extends Product, R> R findBy(Specification<Product> spec,
+                                           Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return delegate.findBy(spec, queryFunction);
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        return name == null ? delegate.findByNameContainingIgnoreCase(null) : columns.findByNameContainingIgnoreCase(name);
+    }
+    
+    @Override
+    public List<Product> findByIdGreaterThan(Long id, Pageable pageable) {
+        return columns.findAfter(id, null, pageable);
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCaseAndIdGreaterThan(String name, Long id, Pageable pageable) {
+        return name == null
+                ? delegate.findByNameContainingIgnoreCaseAndIdGreaterThan(null, id, pageable)
+                : columns.findAfter(id, name, pageable);
+    }
+    
+    @Override
+    public List<Product> findChangedBetween(long since, long upTo, Pageable pageable) {
+        return columns.findChangedBetween(since, upTo, pageable);
+    }
+    
+    @Override
+    public BigDecimal totalInventoryValue() {
+        return columns.totalInventoryValue();
+    }
+    
+    @Override
+    public String toString() {
+        return "ColumnarProductRepository[" + columns.count() + " products]";
+    }
+    
+    private <T> T columnarOr(String operation, Supplier<T> columnar, Supplier<T> jpa) {
+        try {
+            return columnar.get();
+        } catch (UnsupportedCriteriaException e) {
+            logger.debug("Answering {} from JPA: {}", operation, e.getMessage());
+            return jpa.get();
+        }
+    }
+    
+    private List<Long> idsMatching(Specification<Product> spec) {
+        try {
+            return columns.ids(spec);
+        } catch (UnsupportedCriteriaException e) {
+            return delegate.findAll(spec).stream().map(Product::getId).toList();
+        }
+    }
+    
+    private void removeAfterCommit(List<Long> ids) {
+        // The delete's sequence number is not returned; any number at least as high still
+        // orders the tombstone after every earlier write of the product.
+        afterCommit(() -> {
+            long seq = changeSequence.current();
+            ids.forEach(id -> columns.remove(id, seq));
+        });
+    }
+    
+    private static void afterCommit(Runnable apply) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+    
+    private static List<Long> idsOf(Iterable<? extends Product> products) {
+        List<Long> ids = new ArrayList<>();
+        products.forEach(product -> ids.add(product.getId()));
+        return ids;
+    }
+}
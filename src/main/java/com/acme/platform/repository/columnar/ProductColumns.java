@@ -0,0 +1,568 @@
+package com.acme.platform.repository.columnar;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChangeEvent;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Products held as primitive column arrays: ids, versions, timestamps (epoch micros) and change
+ * sequence numbers as {@code long}, price as {@code long} cents, stock as {@code int}, and name
+ * and description as dictionary codes. Rows are kept in ascending id order so lookups by id are
+ * a binary search and generated ids append at the end.
+ *
+ * <p>Changes are applied idempotently by change sequence number, so the same write may arrive
+ * from the writing thread and again from the outbox relay in any order. Deleted rows stay as
+ * tombstones until the relay has passed their sequence number, which keeps a late replay of an
+ * older write from resurrecting them.
+ */
+public final class ProductColumns {
+    
+    static final long NULL = Long.MIN_VALUE;
+    
+    private static final int COMPACT_THRESHOLD = 1024;
+    
+    enum Column {
+        ID("id", Kind.NUMBER, 0),
+        NAME("name", Kind.STRING, 0),
+        DESCRIPTION("description", Kind.STRING, 0),
+        PRICE("price", Kind.NUMBER, 2),
+        STOCK("stock", Kind.NUMBER, 0),
+        VERSION("version", Kind.NUMBER, 0),
+        CREATED_AT("createdAt", Kind.INSTANT, 0),
+        UPDATED_AT("updatedAt", Kind.INSTANT, 0),
+        CHANGE_SEQ("changeSeq", Kind.NUMBER, 0);
+        
+        enum Kind {
+            NUMBER,
+            INSTANT,
+            STRING
+        }
+        
+        final String attribute;
+        final Kind kind;
+        /**
+         * Decimal places of the stored {@code long} relative to the attribute value.
+         */
+        final int scale;
+        
+        Column(String attribute, Kind kind, int scale) {
+            this.attribute = attribute;
+            this.kind = kind;
+            this.scale = scale;
+        }
+        
+        static Column of(String attribute) {
+            for (Column column : values()) {
+                if (column.attribute.equals(attribute)) {
+                    return column;
+                }
+            }
+            throw new UnsupportedCriteriaException("Unknown product attribute '" + attribute + "'");
+        }
+    }
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary names = new StringDictionary();
+    private final StringDictionary descriptions = new StringDictionary();
+    
+    private long[] ids;
+    private long[] priceCents;
+    private int[] stock;
+    private int[] nameCodes;
+    private int[] descriptionCodes;
+    private long[] versions;
+    private long[] createdMicros;
+    private long[] updatedMicros;
+    private long[] changeSeqs;
+    private boolean[] deleted;
+    private int size;
+    private int tombstones;
+    private long relayedThrough;
+    
+    public ProductColumns(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+    
+    // ---- writes ----
+    
+    /**
+     * Inserts or replaces the product's row unless the stored row has a newer change sequence.
+     */
+    public void put(Product product) {
+        write(() -> {
+            upsert(product);
+            return null;
+        });
+    }
+    
+    /**
+     * Marks the row deleted as of {@code changeSeq}, unless it was written after that.
+     */
+    public void remove(long id, long changeSeq) {
+        write(() -> {
+            markDeleted(id, changeSeq);
+            return null;
+        });
+    }
+    
+    public void removeAll(long changeSeq) {
+        write(() -> {
+            for (int row = 0; row < size; row++) {
+                markRowDeleted(row, changeSeq);
+            }
+            return null;
+        });
+    }
+    
+    public void apply(ProductChangeEvent event) {
+        write(() -> {
+            if (event.type() == ProductChangeEvent.Type.DELETED) {
+                markDeleted(event.productId(), event.seq());
+            } else if (event.product() != null) {
+                upsert(event.product().toProduct());
+            }
+            relayedThrough = Math.max(relayedThrough, event.seq());
+            compactIfDue();
+            return null;
+        });
+    }
+    
+    // ---- reads ----
+    
+    public Optional<Product> find(long id) {
+        return read(() -> {
+            int row = rowOf(id);
+            return row >= 0 && !deleted[row] ? Optional.of(toProduct(row)) : Optional.empty();
+        });
+    }
+    
+    public List<Product> findAll(Iterable<Long> ids) {
+        return read(() -> {
+            List<Product> found = new ArrayList<>();
+            for (Long id : ids) {
+                int row = id != null ? rowOf(id) : -1;
+                if (row >= 0 && !deleted[row]) {
+                    found.add(toProduct(row));
+                }
+            }
+            return found;
+        });
+    }
+    
+    public long count() {
+        return read(() -> (long) (size - tombstones));
+    }
+    
+    public List<Product> select(Specification<Product> spec, Sort sort) {
+        return read(() -> materialize(sorted(matching(spec), sort), 0, Integer.MAX_VALUE));
+    }
+    
+    public Page<Product> page(Specification<Product> spec, Pageable pageable) {
+        return read(() -> {
+            int[] rows = matching(spec);
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(materialize(sorted(rows, pageable.getSort()), 0, Integer.MAX_VALUE));
+            }
+            List<Product> content = materialize(sorted(rows, pageable.getSort()),
+                    pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(content, pageable, rows.length);
+        });
+    }
+    
+    public long count(Specification<Product> spec) {
+        return read(() -> (long) matching(spec).length);
+    }
+    
+    public boolean exists(Specification<Product> spec) {
+        return read(() -> {
+            IntPredicate filter = filterFor(spec);
+            for (int row = 0; row < size; row++) {
+                if (!deleted[row] && filter.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+    
+    public Optional<Product> findOne(Specification<Product> spec) {
+        return read(() -> {
+            int[] rows = matching(spec);
+            if (rows.length > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, rows.length);
+            }
+            return rows.length == 1 ? Optional.of(toProduct(rows[0])) : Optional.empty();
+        });
+    }
+    
+    public List<Long> ids(Specification<Product> spec) {
+        return read(() -> Arrays.stream(matching(spec)).mapToObj(row -> ids[row]).toList());
+    }
+    
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        String fragment = name.toLowerCase(Locale.ROOT);
+        return read(() -> {
+            boolean[] matches = names.matching(value -> value.contains(fragment), true);
+            return materialize(matching(row -> nameCodes[row] >= 0 && matches[nameCodes[row]]), 0, Integer.MAX_VALUE);
+        });
+    }
+    
+    /**
+     * Keyset page: products with an id above {@code afterId} in id order, optionally only those
+     * whose name contains {@code nameFragment} ignoring case. Only the page is scanned.
+     */
+    public List<Product> findAfter(long afterId, String nameFragment, Pageable pageable) {
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        String fragment = nameFragment != null ? nameFragment.toLowerCase(Locale.ROOT) : null;
+        return read(() -> {
+            boolean[] matches = fragment != null ? names.matching(value -> value.contains(fragment), true) : null;
+            int start = rowOf(afterId);
+            List<Product> page = new ArrayList<>();
+            for (int row = start >= 0 ? start + 1 : -start - 1; row < size && page.size() < limit; row++) {
+                if (!deleted[row] && (matches == null || nameCodes[row] >= 0 && matches[nameCodes[row]])) {
+                    page.add(toProduct(row));
+                }
+            }
+            return page;
+        });
+    }
+    
+    /**
+     * Products with {@code since < changeSeq <= upTo} in change sequence order.
+     */
+    public List<Product> findChangedBetween(long since, long upTo, Pageable pageable) {
+        return read(() -> {
+            int[] rows = matching(row -> changeSeqs[row] > since && changeSeqs[row] <= upTo);
+            Integer[] ordered = Arrays.stream(rows).boxed()
+                    .sorted((left, right) -> Long.compare(changeSeqs[left], changeSeqs[right]))
+                    .toArray(Integer[]::new);
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            return materialize(Arrays.stream(ordered).mapToInt(Integer::intValue).toArray(), offset, limit);
+        });
+    }
+    
+    /**
+     * Sum of {@code price * stock}, accumulated in cents and widened only on overflow.
+     */
+    public BigDecimal totalInventoryValue() {
+        return read(() -> {
+            long cents = 0;
+            for (int row = 0; row < size; row++) {
+                if (deleted[row]) {
+                    continue;
+                }
+                try {
+                    cents = Math.addExact(cents, Math.multiplyExact(priceCents[row], (long) stock[row]));
+                } catch (ArithmeticException e) {
+                    return totalInventoryValueExact();
+                }
+            }
+            return BigDecimal.valueOf(cents, 2);
+        });
+    }
+    
+    // ---- column access for SpecificationCompiler; callers hold the read lock ----
+    
+    IntToLongFunction numbers(Column column) {
+        return switch (column) {
+            case ID -> longs(ids);
+            case PRICE -> longs(priceCents);
+            case STOCK -> {
+                int[] values = stock;
+                yield row -> values[row];
+            }
+            case VERSION -> longs(versions);
+            case CREATED_AT -> longs(createdMicros);
+            case UPDATED_AT -> longs(updatedMicros);
+            case CHANGE_SEQ -> longs(changeSeqs);
+            default -> throw new UnsupportedCriteriaException(column.attribute + " is not numeric");
+        };
+    }
+    
+    IntUnaryOperator codes(Column column) {
+        int[] values = switch (column) {
+            case NAME -> nameCodes;
+            case DESCRIPTION -> descriptionCodes;
+            default -> throw new UnsupportedCriteriaException(column.attribute + " is not a string");
+        };
+        return row -> values[row];
+    }
+    
+    StringDictionary dictionary(Column column) {
+        return switch (column) {
+            case NAME -> names;
+            case DESCRIPTION -> descriptions;
+            default -> throw new UnsupportedCriteriaException(column.attribute + " is not a string");
+        };
+    }
+    
+    private static IntToLongFunction longs(long[] values) {
+        return row -> values[row];
+    }
+    
+    // ---- internals ----
+    
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private IntPredicate filterFor(Specification<Product> spec) {
+        return spec == null ? row -> true : SpecificationCompiler.compile(spec, this);
+    }
+    
+    private int[] matching(Specification<Product> spec) {
+        return matching(filterFor(spec));
+    }
+    
+    private int[] matching(IntPredicate filter) {
+        int[] rows = new int[size - tombstones];
+        int matched = 0;
+        for (int row = 0; row < size; row++) {
+            if (!deleted[row] && filter.test(row)) {
+                rows[matched++] = row;
+            }
+        }
+        return matched == rows.length ? rows : Arrays.copyOf(rows, matched);
+    }
+    
+    private int[] sorted(int[] rows, Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return rows;
+        }
+        RowComparator comparator = SpecificationCompiler.comparator(sort, this);
+        return Arrays.stream(rows).boxed()
+                .sorted((left, right) -> {
+                    int compared = comparator.compare(left, right);
+                    return compared != 0 ? compared : Integer.compare(left, right);
+                })
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+    
+    private List<Product> materialize(int[] rows, long offset, int limit) {
+        int from = (int) Math.min(offset, rows.length);
+        int to = (int) Math.min((long) from + limit, rows.length);
+        List<Product> products = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            products.add(toProduct(rows[i]));
+        }
+        return products;
+    }
+    
+    private Product toProduct(int row) {
+        Product product = new Product(names.decode(nameCodes[row]), descriptions.decode(descriptionCodes[row]),
+                BigDecimal.valueOf(priceCents[row], 2), stock[row]);
+        product.setId(ids[row]);
+        product.setVersion(boxed(versions[row]));
+        product.setCreatedAt(instant(createdMicros[row]));
+        product.setUpdatedAt(instant(updatedMicros[row]));
+        product.setChangeSeq(boxed(changeSeqs[row]));
+        return product;
+    }
+    
+    private BigDecimal totalInventoryValueExact() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int row = 0; row < size; row++) {
+            if (!deleted[row]) {
+                total = total.add(BigDecimal.valueOf(priceCents[row], 2).multiply(BigDecimal.valueOf(stock[row])));
+            }
+        }
+        return total;
+    }
+    
+    private int rowOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+    
+    private void upsert(Product product) {
+        long id = product.getId();
+        long seq = unboxed(product.getChangeSeq());
+        int row = rowOf(id);
+        if (row >= 0) {
+            if (seq != NULL && changeSeqs[row] != NULL
+                    && (deleted[row] ? seq <= changeSeqs[row] : seq < changeSeqs[row])) {
+                return;
+            }
+            if (deleted[row]) {
+                deleted[row] = false;
+                tombstones--;
+            }
+        } else {
+            row = -row - 1;
+            insertAt(row);
+            ids[row] = id;
+        }
+        priceCents[row] = product.getPrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        stock[row] = product.getStock();
+        nameCodes[row] = names.encode(product.getName());
+        descriptionCodes[row] = descriptions.encode(product.getDescription());
+        versions[row] = unboxed(product.getVersion());
+        createdMicros[row] = micros(product.getCreatedAt());
+        updatedMicros[row] = micros(product.getUpdatedAt());
+        changeSeqs[row] = seq;
+    }
+    
+    private void markDeleted(long id, long changeSeq) {
+        int row = rowOf(id);
+        if (row < 0) {
+            // Remember the delete so an older write replayed by the relay stays deleted.
+            row = -row - 1;
+            insertAt(row);
+            ids[row] = id;
+            nameCodes[row] = StringDictionary.NULL_CODE;
+            descriptionCodes[row] = StringDictionary.NULL_CODE;
+            changeSeqs[row] = changeSeq;
+            deleted[row] = true;
+            tombstones++;
+            return;
+        }
+        markRowDeleted(row, changeSeq);
+    }
+    
+    private void markRowDeleted(int row, long changeSeq) {
+        if (changeSeqs[row] != NULL && changeSeqs[row] > changeSeq) {
+            return;
+        }
+        changeSeqs[row] = changeSeq;
+        if (!deleted[row]) {
+            deleted[row] = true;
+            tombstones++;
+        }
+    }
+    
+    private void insertAt(int row) {
+        if (size == ids.length) {
+            grow(ids.length * 2);
+        }
+        int moved = size - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(priceCents, row, priceCents, row + 1, moved);
+            System.arraycopy(stock, row, stock, row + 1, moved);
+            System.arraycopy(nameCodes, row, nameCodes, row + 1, moved);
+            System.arraycopy(descriptionCodes, row, descriptionCodes, row + 1, moved);
+            System.arraycopy(versions, row, versions, row + 1, moved);
+            System.arraycopy(createdMicros, row, createdMicros, row + 1, moved);
+            System.arraycopy(updatedMicros, row, updatedMicros, row + 1, moved);
+            System.arraycopy(changeSeqs, row, changeSeqs, row + 1, moved);
+            System.arraycopy(deleted, row, deleted, row + 1, moved);
+        }
+        deleted[row] = false;
+        size++;
+    }
+    
+    /**
+     * Drops tombstones the relay has already passed once they make up a quarter of the rows.
+     */
+    private void compactIfDue() {
+        if (tombstones < COMPACT_THRESHOLD || tombstones * 4L < size) {
+            return;
+        }
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (deleted[row] && changeSeqs[row] <= relayedThrough) {
+                tombstones--;
+                continue;
+            }
+            if (kept != row) {
+                ids[kept] = ids[row];
+                priceCents[kept] = priceCents[row];
+                stock[kept] = stock[row];
+                nameCodes[kept] = nameCodes[row];
+                descriptionCodes[kept] = descriptionCodes[row];
+                versions[kept] = versions[row];
+                createdMicros[kept] = createdMicros[row];
+                updatedMicros[kept] = updatedMicros[row];
+                changeSeqs[kept] = changeSeqs[row];
+                deleted[kept] = deleted[row];
+            }
+            kept++;
+        }
+        size = kept;
+    }
+    
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        priceCents = new long[capacity];
+        stock = new int[capacity];
+        nameCodes = new int[capacity];
+        descriptionCodes = new int[capacity];
+        versions = new long[capacity];
+        createdMicros = new long[capacity];
+        updatedMicros = new long[capacity];
+        changeSeqs = new long[capacity];
+        deleted = new boolean[capacity];
+    }
+    
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        stock = Arrays.copyOf(stock, capacity);
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        descriptionCodes = Arrays.copyOf(descriptionCodes, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        createdMicros = Arrays.copyOf(createdMicros, capacity);
+        updatedMicros = Arrays.copyOf(updatedMicros, capacity);
+        changeSeqs = Arrays.copyOf(changeSeqs, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+    }
+    
+    static long micros(Instant instant) {
+        if (instant == null) {
+            return NULL;
+        }
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+    
+    private static Instant instant(long micros) {
+        return micros == NULL ? null
+                : Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+    
+    private static long unboxed(Long value) {
+        return value != null ? value : NULL;
+    }
+    
+    private static Long boxed(long value) {
+        return value != NULL ? value : null;
+    }
+    
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int left, int right);
+    }
+}
@@ -0,0 +1,39 @@
+package com.acme.platform.repository.columnar;
+
+import com.acme.platform.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Fills {@link ProductColumns} from the {@code products} and {@code product_tombstones} tables
+ * with plain JDBC, bypassing Hibernate entity hydration.
+ */
+public final class ProductColumnsLoader {
+    
+    private ProductColumnsLoader() {
+    }
+    
+    /**
+     * Loads every product and tombstone; returns the number of products loaded. Rows already
+     * present with a newer change sequence are kept, so loading again is safe.
+     */
+    public static int load(JdbcTemplate jdbcTemplate, ProductColumns columns) {
+        int[] loaded = {0};
+        jdbcTemplate.query("select id, name, description, price, stock, version, created_at, updated_at, change_seq "
+                + "from products order by id", rs -> {
+            Product product = new Product(rs.getString("name"), rs.getString("description"),
+                    rs.getBigDecimal("price"), rs.getInt("stock"));
+            product.setId(rs.getLong("id"));
+            product.setVersion(rs.getObject("version", Long.class));
+            product.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class).toInstant());
+            product.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class).toInstant());
+            product.setChangeSeq(rs.getObject("change_seq", Long.class));
+            columns.put(product);
+            loaded[0]++;
+        });
+        jdbcTemplate.query("select product_id, change_seq from product_tombstones",
+                rs -> columns.remove(rs.getLong("product_id"), rs.getLong("change_seq")));
+        return loaded[0];
+    }
+}
@@ -0,0 +1,512 @@
+package com.acme.platform.repository.columnar;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.columnar.ProductColumns.Column;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a JPA {@link Specification} into a row filter over {@link ProductColumns}. The
+ * specification is invoked with stand-in {@link Root}, {@link CriteriaBuilder} and
+ * {@link Predicate} objects that record the criteria tree instead of building SQL.
+ *
+ * <p>Supported: {@code and}, {@code or}, {@code not}, {@code conjunction}, {@code disjunction},
+ * {@code equal}, {@code notEqual}, the ordering comparisons, {@code between}, {@code isNull},
+ * {@code isNotNull}, {@code in}, {@code like}/{@code notLike} and {@code lower} on product
+ * attributes compared with literal values. String predicates are evaluated once per dictionary
+ * entry. Comparisons with NULL follow SQL three-valued logic. Anything else throws
+ * {@link UnsupportedCriteriaException}.
+ */
+final class SpecificationCompiler {
+    
+    private enum Operator {
+        EQ, NE, GT, GE, LT, LE;
+    
+        boolean test(int compared) {
+            return switch (this) {
+                case EQ -> compared == 0;
+                case NE -> compared != 0;
+                case GT -> compared > 0;
+                case GE -> compared >= 0;
+                case LT -> compared < 0;
+                case LE -> compared <= 0;
+            };
+        }
+    }
+    
+    private final ProductColumns columns;
+    
+    private SpecificationCompiler(ProductColumns columns) {
+        this.columns = columns;
+    }
+    
+    /**
+     * Compiles {@code spec}; the caller must hold the read lock of {@code columns} while
+     * compiling and while using the filter.
+     */
+    static IntPredicate compile(Specification<Product> spec, ProductColumns columns) {
+        SpecificationCompiler compiler = new SpecificationCompiler(columns);
+        Predicate predicate = spec.toPredicate(compiler.root(), compiler.query(), compiler.builder());
+        return predicate == null ? row -> true : condition(predicate).filter();
+    }
+    
+    static ProductColumns.RowComparator comparator(Sort sort, ProductColumns columns) {
+        ProductColumns.RowComparator comparator = null;
+        for (Sort.Order order : sort) {
+            ProductColumns.RowComparator next = comparator(order, columns);
+            if (comparator == null) {
+                comparator = next;
+            } else {
+                ProductColumns.RowComparator first = comparator;
+                comparator = (left, right) -> {
+                    int compared = first.compare(left, right);
+                    return compared != 0 ? compared : next.compare(left, right);
+                };
+            }
+        }
+        return comparator != null ? comparator : (left, right) -> 0;
+    }
+    
+    private static ProductColumns.RowComparator comparator(Sort.Order order, ProductColumns columns) {
+        Column column = Column.of(order.getProperty());
+        IntPredicate isNull;
+        ProductColumns.RowComparator values;
+        if (column.kind == Column.Kind.STRING) {
+            IntUnaryOperator codes = columns.codes(column);
+            int[] ranks = columns.dictionary(column).ranks(order.isIgnoreCase());
+            isNull = row -> codes.applyAsInt(row) == StringDictionary.NULL_CODE;
+            values = (left, right) -> Integer.compare(ranks[codes.applyAsInt(left)], ranks[codes.applyAsInt(right)]);
+        } else {
+            IntToLongFunction numbers = columns.numbers(column);
+            isNull = row -> numbers.applyAsLong(row) == ProductColumns.NULL;
+            values = (left, right) -> Long.compare(numbers.applyAsLong(left), numbers.applyAsLong(right));
+        }
+        // H2 sorts NULL as the lowest value unless told otherwise.
+        boolean nullsFirst = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+            case NATIVE -> order.isAscending();
+        };
+        boolean ascending = order.isAscending();
+        return (left, right) -> {
+            boolean leftNull = isNull.test(left);
+            boolean rightNull = isNull.test(right);
+            if (leftNull || rightNull) {
+                return leftNull == rightNull ? 0 : leftNull == nullsFirst ? -1 : 1;
+            }
+            int compared = values.compare(left, right);
+            return ascending ? compared : -compared;
+        };
+    }
+    
+    // ---- criteria tree ----
+    
+    private sealed interface Condition {
+        IntPredicate filter();
+    
+        Condition negate();
+    }
+    
+    /**
+     * A comparison that is TRUE when {@code known} (its operand is not NULL) and {@code test}
+     * hold; negation keeps the NULL check, as SQL's NOT does.
+     */
+    private record Leaf(IntPredicate known, IntPredicate test) implements Condition {
+        @Override
+        public IntPredicate filter() {
+            return known.and(test);
+        }
+    
+        @Override
+        public Condition negate() {
+            return new Leaf(known, test.negate());
+        }
+    }
+    
+    private record Constant(boolean value) implements Condition {
+        @Override
+        public IntPredicate filter() {
+            return value ? row -> true : row -> false;
+        }
+    
+        @Override
+        public Condition negate() {
+            return new Constant(!value);
+        }
+    }
+    
+    private record All(List<Condition> parts) implements Condition {
+        @Override
+        public IntPredicate filter() {
+            IntPredicate[] filters = parts.stream().map(Condition::filter).toArray(IntPredicate[]::new);
+            if (filters.length == 1) {
+                return filters[0];
+            }
+            return row -> {
+                for (IntPredicate filter : filters) {
+                    if (!filter.test(row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+    
+        @Override
+        public Condition negate() {
+            return new Any(parts.stream().map(Condition::negate).toList());
+        }
+    }
+    
+    private record Any(List<Condition> parts) implements Condition {
+        @Override
+        public IntPredicate filter() {
+            IntPredicate[] filters = parts.stream().map(Condition::filter).toArray(IntPredicate[]::new);
+            if (filters.length == 1) {
+                return filters[0];
+            }
+            return row -> {
+                for (IntPredicate filter : filters) {
+                    if (filter.test(row)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+    
+        @Override
+        public Condition negate() {
+            return new All(parts.stream().map(Condition::negate).toList());
+        }
+    }
+    
+    private record Attribute(Column column, boolean lowerCase) {
+    }
+    
+    private record Literal(Object value) {
+    }
+    
+    /**
+     * Implemented by every stand-in criteria object to expose the recorded node.
+     */
+    private interface Node {
+        Object node();
+    }
+    
+    private static final Object ROOT = new Object();
+    
+    // ---- stand-in criteria objects ----
+    
+    @SuppressWarnings("unchecked")
+    private Root<Product> root() {
+        return proxy(Root.class, ROOT);
+    }
+    
+    private CriteriaQuery<?> query() {
+        return (CriteriaQuery<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CriteriaQuery.class},
+                (proxy, method, args) -> objectMethod(proxy, method, args, "CriteriaQuery"));
+    }
+    
+    private CriteriaBuilder builder() {
+        return (CriteriaBuilder) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CriteriaBuilder.class},
+                (proxy, method, args) -> method.getDeclaringClass() == Object.class
+                        ? objectMethod(proxy, method, args, "CriteriaBuilder")
+                        : build(method, args));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, Object node) {
+        return (T) Proxy.newProxyInstance(SpecificationCompiler.class.getClassLoader(), new Class<?>[]{type, Node.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Node.class) {
+                        return node;
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method, args, String.valueOf(node));
+                    }
+                    return onNode(node, method, args);
+                });
+    }
+    
+    private static Object objectMethod(Object proxy, Method method, Object[] args, String description) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> description;
+            default -> throw unsupported(method);
+        };
+    }
+    
+    private Object onNode(Object node, Method method, Object[] args) {
+        if (node == ROOT && method.getName().equals("get") && args[0] instanceof String attribute) {
+            return expression(new Attribute(Column.of(attribute), false));
+        }
+        if (node instanceof Condition condition && method.getName().equals("not")) {
+            return predicate(condition.negate());
+        }
+        if (node instanceof Attribute attribute) {
+            return switch (method.getName()) {
+                case "isNull" -> predicate(isNull(attribute, true));
+                case "isNotNull" -> predicate(isNull(attribute, false));
+                case "in" -> predicate(new Any(inValues(args).stream()
+                        .map(candidate -> compare(Operator.EQ, attribute, value(candidate)))
+                        .toList()));
+                default -> throw unsupported(method);
+            };
+        }
+        throw unsupported(method);
+    }
+    
+    private Path<?> expression(Object node) {
+        return proxy(Path.class, node);
+    }
+    
+    private Predicate predicate(Condition condition) {
+        return proxy(Predicate.class, condition);
+    }
+    
+    private Object build(Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "conjunction" -> predicate(new Constant(true));
+            case "disjunction" -> predicate(new Constant(false));
+            case "and" -> predicate(new All(conditions(args)));
+            case "or" -> predicate(new Any(conditions(args)));
+            case "not" -> predicate(condition(args[0]).negate());
+            case "lower" -> expression(new Attribute(attribute(args[0]).column(), true));
+            case "literal" -> expression(new Literal(args[0]));
+            case "isNull" -> predicate(isNull(attribute(args[0]), true));
+            case "isNotNull" -> predicate(isNull(attribute(args[0]), false));
+            case "equal" -> predicate(compare(Operator.EQ, attribute(args[0]), value(args[1])));
+            case "notEqual" -> predicate(compare(Operator.NE, attribute(args[0]), value(args[1])));
+            case "greaterThan", "gt" -> predicate(compare(Operator.GT, attribute(args[0]), value(args[1])));
+            case "greaterThanOrEqualTo", "ge" -> predicate(compare(Operator.GE, attribute(args[0]), value(args[1])));
+            case "lessThan", "lt" -> predicate(compare(Operator.LT, attribute(args[0]), value(args[1])));
+            case "lessThanOrEqualTo", "le" -> predicate(compare(Operator.LE, attribute(args[0]), value(args[1])));
+            case "between" -> predicate(new All(List.of(
+                    compare(Operator.GE, attribute(args[0]), value(args[1])),
+                    compare(Operator.LE, attribute(args[0]), value(args[2])))));
+            case "like" -> predicate(like(args));
+            case "notLike" -> predicate(like(args).negate());
+            default -> throw unsupported(method);
+        };
+    }
+    
+    // ---- compilation ----
+    
+    private static Condition condition(Object predicate) {
+        if (predicate instanceof Node node && node.node() instanceof Condition condition) {
+            return condition;
+        }
+        throw new UnsupportedCriteriaException("Not a compiled predicate: " + predicate);
+    }
+    
+    private static List<Condition> conditions(Object[] args) {
+        List<Condition> conditions = new ArrayList<>();
+        for (Object arg : args) {
+            if (arg instanceof Object[] array) {
+                Arrays.stream(array).map(SpecificationCompiler::condition).forEach(conditions::add);
+            } else if (arg instanceof Collection<?> collection) {
+                collection.stream().map(SpecificationCompiler::condition).forEach(conditions::add);
+            } else {
+                conditions.add(condition(arg));
+            }
+        }
+        return conditions;
+    }
+    
+    private static Attribute attribute(Object expression) {
+        if (expression instanceof Node node && node.node() instanceof Attribute attribute) {
+            return attribute;
+        }
+        throw new UnsupportedCriteriaException("Only product attributes can be compared: " + expression);
+    }
+    
+    private static Object value(Object argument) {
+        if (argument instanceof Node node) {
+            if (node.node() instanceof Literal literal) {
+                return literal.value();
+            }
+            throw new UnsupportedCriteriaException("Only literal values can be compared: " + argument);
+        }
+        if (argument == null) {
+            throw new UnsupportedCriteriaException("Comparison with a NULL literal");
+        }
+        return argument;
+    }
+    
+    private static List<?> inValues(Object[] args) {
+        if (args.length == 1 && args[0] instanceof Collection<?> values) {
+            return List.copyOf(values);
+        }
+        if (args.length == 1 && args[0] instanceof Object[] values) {
+            return Arrays.asList(values);
+        }
+        throw new UnsupportedCriteriaException("Unsupported in() arguments");
+    }
+    
+    private Condition isNull(Attribute attribute, boolean expectNull) {
+        IntPredicate isNull;
+        if (attribute.column().kind == Column.Kind.STRING) {
+            IntUnaryOperator codes = columns.codes(attribute.column());
+            isNull = row -> codes.applyAsInt(row) == StringDictionary.NULL_CODE;
+        } else {
+            IntToLongFunction numbers = columns.numbers(attribute.column());
+            isNull = row -> numbers.applyAsLong(row) == ProductColumns.NULL;
+        }
+        return new Leaf(row -> true, expectNull ? isNull : isNull.negate());
+    }
+    
+    private Condition compare(Operator operator, Attribute attribute, Object value) {
+        if (attribute.column().kind == Column.Kind.STRING) {
+            if (!(value instanceof String bound)) {
+                throw new UnsupportedCriteriaException(attribute.column().attribute + " compared with " + value);
+            }
+            return strings(attribute, candidate -> operator.test(candidate.compareTo(bound)));
+        }
+        if (attribute.lowerCase()) {
+            throw new UnsupportedCriteriaException("lower() of non-string attribute " + attribute.column().attribute);
+        }
+        IntToLongFunction numbers = columns.numbers(attribute.column());
+        BigDecimal bound = units(attribute.column(), value);
+        boolean integral = bound.stripTrailingZeros().scale() <= 0;
+        IntPredicate test = switch (operator) {
+            case EQ -> {
+                long exact = saturate(bound);
+                yield integral ? row -> numbers.applyAsLong(row) == exact : row -> false;
+            }
+            case NE -> {
+                long exact = saturate(bound);
+                yield integral ? row -> numbers.applyAsLong(row) != exact : row -> true;
+            }
+            // The stored values are integers, so x > b  <=>  x > floor(b) and x >= b  <=>  x >= ceil(b).
+            case GT -> {
+                long floor = saturate(bound.setScale(0, RoundingMode.FLOOR));
+                yield row -> numbers.applyAsLong(row) > floor;
+            }
+            case GE -> {
+                long ceiling = saturate(bound.setScale(0, RoundingMode.CEILING));
+                yield row -> numbers.applyAsLong(row) >= ceiling;
+            }
+            case LT -> {
+                long ceiling = saturate(bound.setScale(0, RoundingMode.CEILING));
+                yield row -> numbers.applyAsLong(row) < ceiling;
+            }
+            case LE -> {
+                long floor = saturate(bound.setScale(0, RoundingMode.FLOOR));
+                yield row -> numbers.applyAsLong(row) <= floor;
+            }
+        };
+        return new Leaf(row -> numbers.applyAsLong(row) != ProductColumns.NULL, test);
+    }
+    
+    private Condition like(Object[] args) {
+        Attribute attribute = attribute(args[0]);
+        if (attribute.column().kind != Column.Kind.STRING) {
+            throw new UnsupportedCriteriaException("like on non-string attribute " + attribute.column().attribute);
+        }
+        if (!(value(args[1]) instanceof String pattern)) {
+            throw new UnsupportedCriteriaException("like pattern must be a string");
+        }
+        Character escape = args.length > 2 ? (Character) value(args[2]) : null;
+        return strings(attribute, likeMatcher(pattern, escape));
+    }
+    
+    private Condition strings(Attribute attribute, java.util.function.Predicate<String> matcher) {
+        IntUnaryOperator codes = columns.codes(attribute.column());
+        boolean[] matches = columns.dictionary(attribute.column()).matching(matcher, attribute.lowerCase());
+        return new Leaf(row -> codes.applyAsInt(row) != StringDictionary.NULL_CODE, row -> matches[codes.applyAsInt(row)]);
+    }
+    
+    /**
+     * Translates an SQL LIKE pattern. {@code %fragment%} without other wildcards, which is what
+     * the product specifications produce, becomes a plain {@code contains}.
+     */
+    static java.util.function.Predicate<String> likeMatcher(String pattern, Character escape) {
+        if (escape == null && pattern.length() >= 2 && pattern.startsWith("%") && pattern.endsWith("%")) {
+            String fragment = pattern.substring(1, pattern.length() - 1);
+            if (fragment.indexOf('%') < 0 && fragment.indexOf('_') < 0) {
+                return value -> value.contains(fragment);
+            }
+        }
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (escape != null && c == escape && i + 1 < pattern.length()) {
+                literal.append(pattern.charAt(++i));
+            } else if (c == '%' || c == '_') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return value -> compiled.matcher(value).matches();
+    }
+    
+    /**
+     * The value in the column's stored units: cents for price, epoch micros for timestamps.
+     */
+    private static BigDecimal units(Column column, Object value) {
+        if (column.kind == Column.Kind.INSTANT) {
+            Instant instant = switch (value) {
+                case Instant i -> i;
+                case OffsetDateTime o -> o.toInstant();
+                case ZonedDateTime z -> z.toInstant();
+                default -> throw new UnsupportedCriteriaException(column.attribute + " compared with " + value);
+            };
+            return BigDecimal.valueOf(instant.getEpochSecond()).movePointRight(6)
+                    .add(BigDecimal.valueOf(instant.getNano()).movePointLeft(3));
+        }
+        if (!(value instanceof Number number)) {
+            throw new UnsupportedCriteriaException(column.attribute + " compared with " + value);
+        }
+        BigDecimal decimal = number instanceof BigDecimal exact ? exact : new BigDecimal(number.toString());
+        return decimal.movePointRight(column.scale);
+    }
+    
+    private static long saturate(BigDecimal value) {
+        if (value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        // Long.MIN_VALUE marks NULL, so bounds stop one above it.
+        if (value.compareTo(BigDecimal.valueOf(ProductColumns.NULL + 1)) <= 0) {
+            return ProductColumns.NULL + 1;
+        }
+        return value.setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+    }
+    
+    private static UnsupportedCriteriaException unsupported(Method method) {
+        return new UnsupportedCriteriaException(method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + " is not supported by the columnar product engine");
+    }
+}
@@ -0,0 +1,94 @@
+package com.acme.platform.repository.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Dictionary encoding for a string column: each distinct value is stored once and rows hold
+ * its int code ({@code -1} for null). String predicates are evaluated once per distinct value
+ * rather than once per row. Not thread-safe; guarded by the owning {@link ProductColumns}.
+ */
+final class StringDictionary {
+    
+    static final int NULL_CODE = -1;
+    
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> lowerCaseValues = new ArrayList<>();
+    
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int created = values.size();
+        codes.put(value, created);
+        values.add(value);
+        lowerCaseValues.add(value.toLowerCase(Locale.ROOT));
+        return created;
+    }
+    
+    /**
+     * The code of an existing value, or {@link #NULL_CODE} if the value never occurs.
+     */
+    int codeOf(String value) {
+        Integer code = value != null ? codes.get(value) : null;
+        return code != null ? code : NULL_CODE;
+    }
+    
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+    
+    String decodeLowerCase(int code) {
+        return code == NULL_CODE ? null : lowerCaseValues.get(code);
+    }
+    
+    /**
+     * Evaluates {@code predicate} on every distinct value (lower-cased if requested) and
+     * returns the result indexed by code.
+     */
+    boolean[] matching(Predicate<String> predicate, boolean lowerCase) {
+        List<String> source = lowerCase ? lowerCaseValues : values;
+        boolean[] matches = new boolean[source.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = predicate.test(source.get(code));
+        }
+        return matches;
+    }
+    
+    /**
+     * Dense sort ranks indexed by code: equal values (after lower-casing, if requested) share a
+     * rank, so ordering rows by rank matches ordering them by value.
+     */
+    int[] ranks(boolean lowerCase) {
+        List<String> source = lowerCase ? lowerCaseValues : values;
+        Integer[] order = new Integer[source.size()];
+        for (int code = 0; code < order.length; code++) {
+            order[code] = code;
+        }
+        Arrays.sort(order, Comparator.comparing(source::get));
+        int[] ranks = new int[order.length];
+        int rank = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && !source.get(order[i]).equals(source.get(order[i - 1]))) {
+                rank++;
+            }
+            ranks[order[i]] = rank;
+        }
+        return ranks;
+    }
+    
+    int size() {
+        return values.size();
+    }
+}
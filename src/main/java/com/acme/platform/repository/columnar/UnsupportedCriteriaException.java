@@ -0,0 +1,12 @@
+package com.acme.platform.repository.columnar;
+
+/**
+ * A specification or sort that the columnar engine cannot evaluate; the query is answered by
+ * the JPA repository instead.
+ */
+class UnsupportedCriteriaException extends UnsupportedOperationException {
+    
+    UnsupportedCriteriaException(String message) {
+        super(message);
+    }
+}
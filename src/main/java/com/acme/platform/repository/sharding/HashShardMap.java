@@ -0,0 +1,37 @@
+package com.acme.platform.repository.sharding;
+
+/**
+ * Hash-mod-N placement. Ids are mixed first so sequential ids spread evenly and block
+ * allocation does not put whole blocks on one shard.
+ */
+public class HashShardMap implements ShardMap {
+    
+    private final int shardCount;
+    
+    public HashShardMap(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        this.shardCount = shardCount;
+    }
+    
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+    
+    @Override
+    public int shardFor(long productId) {
+        return (int) Math.floorMod(mix(productId), (long) shardCount);
+    }
+    
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
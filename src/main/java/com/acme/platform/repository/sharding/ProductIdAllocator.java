@@ -0,0 +1,56 @@
+package com.acme.platform.repository.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out product ids for sharded storage from a sequence on the primary database,
+ * reserving a block per round trip. Ids must exist before a shard can be chosen, so the
+ * shards' own id generation is not used.
+ */
+public class ProductIdAllocator {
+    
+    private static final String SEQUENCE = "product_shard_id_seq";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+    
+    public ProductIdAllocator(JdbcTemplate jdbcTemplate, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+    
+    /**
+     * Creates the sequence if needed, sets its increment to {@code blockSize} (an existing
+     * sequence may have been created with another one, which would make blocks overlap) and
+     * moves it above every id already stored. The sequence only ever moves forward, so blocks
+     * other nodes have already reserved are not handed out again.
+     */
+    public void initialize(long highestExistingId) {
+        jdbcTemplate.execute("create sequence if not exists " + SEQUENCE + " start with 1 increment by " + blockSize);
+        Long current = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = ?",
+                Long.class, SEQUENCE.toUpperCase(Locale.ROOT));
+        long restart = Math.max(current != null ? current : 1L, highestExistingId + 1);
+        jdbcTemplate.execute("alter sequence " + SEQUENCE + " restart with " + restart + " increment by " + blockSize);
+    }
+    
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                Long start = jdbcTemplate.queryForObject("select next value for " + SEQUENCE, Long.class);
+                next = start;
+                limit = start + blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.acme.platform.repository.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Function;
+
+/**
+ * One product shard: its own entity manager factory, transaction manager and repository.
+ */
+public class ProductShard {
+    
+    private final int index;
+    private final EntityManagerFactory entityManagerFactory;
+    private final HikariDataSource dataSource;
+    private final EntityManager entityManager;
+    private final ProductShardRepository repository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    
+    public ProductShard(int index, EntityManagerFactory entityManagerFactory, HikariDataSource dataSource) {
+        this.index = index;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.repository = new JpaRepositoryFactory(entityManager).getRepository(ProductShardRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public ProductShardRepository getRepository() {
+        return repository;
+    }
+    
+    public <T> T read(Function<ProductShardRepository, T> query) {
+        return readTransaction.execute(status -> query.apply(repository));
+    }
+    
+    public <T> T write(Function<EntityManager, T> work) {
+        return writeTransaction.execute(status -> {
+            T result = work.apply(entityManager);
+            entityManager.flush();
+            return result;
+        });
+    }
+    
+    void close() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+}
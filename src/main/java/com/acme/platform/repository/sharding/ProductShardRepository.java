@@ -0,0 +1,22 @@
+package com.acme.platform.repository.sharding;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductQueries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Product repository bound to a single shard. Instances are created per shard by
+ * {@link ProductShard}; writes go through {@link ShardedProductRepository} instead.
+ */
+@NoRepositoryBean
+public interface ProductShardRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductQueries {
+    
+    @Query("select coalesce(max(p.id), 0) from Product p")
+    long maxId();
+    
+    @Query("select coalesce(max(p.changeSeq), 0) from Product p")
+    long maxChangeSeq();
+}
@@ -0,0 +1,79 @@
+package com.acme.platform.repository.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The configured shards plus the pool that runs scatter-gather queries against them.
+ */
+public class ProductShards {
+    
+    private final List<ProductShard> shards;
+    private final ShardMap shardMap;
+    private final ExecutorService executor;
+    
+    public ProductShards(List<ProductShard> shards, ShardMap shardMap) {
+        if (shardMap.shardCount() != shards.size()) {
+            throw new IllegalArgumentException("Shard map expects " + shardMap.shardCount()
+                    + " shards but " + shards.size() + " are configured");
+        }
+        this.shards = List.copyOf(shards);
+        this.shardMap = shardMap;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards.size() * 2, runnable -> {
+            Thread thread = new Thread(runnable, "product-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public List<ProductShard> all() {
+        return shards;
+    }
+    
+    public ProductShard forId(long productId) {
+        return shards.get(shardMap.shardFor(productId));
+    }
+    
+    /**
+     * Runs a read-only query on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(Function<ProductShardRepository, T> query) {
+        return parallel(shards, shard -> shard.read(query));
+    }
+    
+    public <T> List<T> parallel(List<ProductShard> targets, Function<ProductShard, T> work) {
+        if (targets.size() == 1) {
+            return Collections.singletonList(work.apply(targets.get(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(targets.size());
+        for (ProductShard shard : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> work.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(targets.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+    
+    public void close() {
+        executor.shutdownNow();
+        shards.forEach(ProductShard::close);
+    }
+}
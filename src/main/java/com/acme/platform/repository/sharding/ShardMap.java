@@ -0,0 +1,11 @@
+package com.acme.platform.repository.sharding;
+
+/**
+ * Maps product ids to shard indexes. Declare a bean of this type to replace the default
+ * {@link HashShardMap}, e.g. with a directory or consistent-hash map when shards are added.
+ */
+public interface ShardMap {
+    int shardCount();
+    
+    int shardFor(long productId);
+}
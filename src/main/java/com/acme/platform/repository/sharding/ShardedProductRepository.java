@@ -0,0 +1,447 @@
+package com.acme.platform.repository.sharding;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.repository.ProductChangeLog;
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link ProductRepository} over hash-sharded storage. Lookups by id go to the owning shard;
+ * list, specification, count and aggregate queries run on every shard in parallel and are
+ * merged here. Sorting and paging are re-applied after the merge.
+ *
+ * <p>Writes keep the change log (outbox and tombstones) on the primary database. The change
+ * sequence is taken in the primary transaction, the shard transaction commits inside it, and
+ * the sequence stays in flight until the change log commits, so delta sync and the outbox relay
+ * never pass a write. This is best-effort 1PC: if the primary commit fails after the shard
+ * committed, the product change is stored without its change event.
+ */
+public final class ShardedProductRepository implements ProductRepository {
+    
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+    
+    private final ProductShards shards;
+    private final ProductIdAllocator idAllocator;
+    private final ProductChangeSequence changeSequence;
+    private final ProductChangeLog changeLog;
+    private final TransactionTemplate changeLogTransaction;
+    
+    public ShardedProductRepository(ProductShards shards, ProductIdAllocator idAllocator,
+                                    ProductChangeSequence changeSequence, ProductChangeLog changeLog,
+                                    TransactionTemplate changeLogTransaction) {
+        this.shards = shards;
+        this.idAllocator = idAllocator;
+        this.changeSequence = changeSequence;
+        this.changeLog = changeLog;
+        this.changeLogTransaction = changeLogTransaction;
+    }
+    
+    // Writes
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Product> S save(S product) {
+        return (S) store(product);
+    }
+    
+    @Override
+    public <S extends Product> S saveAndFlush(S product) {
+        return save(product);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Product> List<S> saveAll(Iterable<S> products) {
+        return (List<S>) storeAll(toList(products));
+    }
+    
+    @Override
+    public <S extends Product> List<S> saveAllAndFlush(Iterable<S> products) {
+        return saveAll(products);
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        remove(id);
+    }
+    
+    @Override
+    public int removeById(Long id) {
+        return remove(id);
+    }
+    
+    @Override
+    public void delete(Product product) {
+        remove(product.getId());
+    }
+    
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::remove);
+    }
+    
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        ids.forEach(this::remove);
+    }
+    
+    @Override
+    public void deleteAll(Iterable<? extends Product> products) {
+        products.forEach(product -> remove(product.getId()));
+    }
+    
+    @Override
+    public void deleteAllInBatch(Iterable<Product> products) {
+        products.forEach(product -> remove(product.getId()));
+    }
+    
+    /**
+     * Deletes product by product, so every delete leaves its tombstone.
+     */
+    @Override
+    public void deleteAll() {
+        findAll().forEach(product -> remove(product.getId()));
+    }
+    
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+    
+    @Override
+    public long delete(Specification<Product> spec) {
+        return findAll(spec).stream().mapToLong(product -> remove(product.getId())).sum();
+    }
+    
+    @Override
+    public void flush() {
+        // Every write commits on its shard before returning.
+    }
+    
+    // Lookups by id
+    
+    @Override
+    public Optional<Product> findById(Long id) {
+        return shards.forId(id).read(repository -> repository.findById(id));
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+    
+    @Override
+    public Product getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Product " + id + " not found"));
+    }
+    
+    @Override
+    @Deprecated
+    public Product getById(Long id) {
+        return getReferenceById(id);
+    }
+    
+    @Override
+    @Deprecated
+    public Product getOne(Long id) {
+        return getReferenceById(id);
+    }
+    
+    @Override
+    public List<Product> findAllById(Iterable<Long> ids) {
+        Map<ProductShard, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shards.forId(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<ProductShard> targets = new ArrayList<>(idsByShard.keySet());
+        List<List<Product>> results = shards.parallel(targets,
+                shard -> shard.read(repository -> repository.findAllById(idsByShard.get(shard))));
+        return results.stream().flatMap(List::stream).toList();
+    }
+    
+    // Scatter-gather queries
+    
+    @Override
+    public List<Product> findAll() {
+        return gather(repository -> repository.findAll(), BY_ID);
+    }
+    
+    @Override
+    public List<Product> findAll(Sort sort) {
+        return gather(repository -> repository.findAll(sort), comparatorFor(sort));
+    }
+    
+    @Override
+    public Page<Product> findAll(Pageable pageable) {
+        return gatherPage(pageable, (repository, shardPage) -> repository.findAll(shardPage));
+    }
+    
+    @Override
+    public List<Product> findAll(Specification<Product> spec) {
+        return gather(repository -> repository.findAll(spec), BY_ID);
+    }
+    
+    @Override
+    public List<Product> findAll(Specification<Product> spec, Sort sort) {
+        return gather(repository -> repository.findAll(spec, sort), comparatorFor(sort));
+    }
+    
+    @Override
+    public Page<Product> findAll(Specification<Product> spec, Pageable pageable) {
+        return gatherPage(pageable, (repository, shardPage) -> repository.findAll(spec, shardPage));
+    }
+    
+    @Override
+    public Optional<Product> findOne(Specification<Product> spec) {
+        return single(shards.scatter(repository -> repository.findOne(spec)));
+    }
+    
+    @Override
+    public long count() {
+        return shards.scatter(repository -> repository.count()).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    @Override
+    public long count(Specification<Product> spec) {
+        return shards.scatter(repository -> repository.count(spec)).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    @Override
+    public boolean exists(Specification<Product> spec) {
+        return shards.scatter(repository -> repository.exists(spec)).contains(Boolean.TRUE);
+    }
+    
+    @Override
+    public <S extends Product> Optional<S> findOne(Example<S> example) {
+        return single(shards.scatter(repository -> repository.findOne(example)));
+    }
+    
+    @Override
+    public <S extends Product> List<S> findAll(Example<S> example) {
+        return gather(repository -> repository.findAll(example), BY_ID);
+    }
+    
+    @Override
+    public <S extends Product> List<S> findAll(Example<S> example, Sort sort) {
+        return gather(repository -> repository.findAll(example, sort), comparatorFor(sort));
+    }
+    
+    @Override
+    public <S extends Product> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return gatherPage(pageable, (repository, shardPage) -> repository.findAll(example, shardPage));
+    }
+    
+    @Override
+    public <S extends Product> long count(Example<S> example) {
+        return shards.scatter(repository -> repository.count(example)).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    @Override
+    public <S extends Product> boolean exists(Example<S> example) {
+        return shards.scatter(repository -> repository.exists(example)).contains(Boolean.TRUE);
+    }
+    
+    /**
+     * Fluent queries build their result inside the shard's query, so there is nothing to merge.
+     */
+    @Override
+    public <S extends Product, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Fluent queries are not supported on sharded product storage");
+    }
+    
+    @Override
+    public <S extends Product, R> R findBy(Specification<Product> spec,
+                                           Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Fluent queries are not supported on sharded product storage");
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        return gather(repository -> repository.findByNameContainingIgnoreCase(name), BY_ID);
+    }
+    
+    @Override
+    public List<Product> findByIdGreaterThan(Long id, Pageable pageable) {
+        return limit(gather(repository -> repository.findByIdGreaterThan(id, pageable), BY_ID), pageable);
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCaseAndIdGreaterThan(String name, Long id, Pageable pageable) {
+        return limit(gather(repository -> repository.findByNameContainingIgnoreCaseAndIdGreaterThan(name, id, pageable),
+                BY_ID), pageable);
+    }
+    
+    @Override
+    public List<Product> findChangedBetween(long since, long upTo, Pageable pageable) {
+        return limit(gather(repository -> repository.findChangedBetween(since, upTo, pageable),
+                Comparator.comparing(Product::getChangeSeq)), pageable);
+    }
+    
+    @Override
+    public BigDecimal totalInventoryValue() {
+        return shards.scatter(repository -> repository.totalInventoryValue()).stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    @Override
+    public String toString() {
+        return "ShardedProductRepository[" + shards.all().size() + " shards]";
+    }
+    
+    private Product store(Product product) {
+        return changeLogTransaction.execute(status -> {
+            boolean isNew = prepare(product);
+            Product stored = shards.forId(product.getId()).write(entityManager -> isNew ? persist(entityManager, product) : entityManager.merge(product));
+            changeLog.recordWrite(stored.getChangeSeq(), stored, isNew ? ProductChangeEvent.Type.CREATED : ProductChangeEvent.Type.UPDATED);
+            return stored;
+        });
+    }
+    
+    private List<Product> storeAll(List<Product> products) {
+        return changeLogTransaction.execute(status -> {
+            Map<ProductShard, List<Integer>> positionsByShard = new LinkedHashMap<>();
+            boolean[] created = new boolean[products.size()];
+            for (int i = 0; i < products.size(); i++) {
+                Product product = products.get(i);
+                created[i] = prepare(product);
+                positionsByShard.computeIfAbsent(shards.forId(product.getId()), shard -> new ArrayList<>()).add(i);
+            }
+            Product[] stored = new Product[products.size()];
+            positionsByShard.forEach((shard, positions) -> shard.write(entityManager -> {
+                for (int position : positions) {
+                    Product product = products.get(position);
+                    stored[position] = created[position] ? persist(entityManager, product) : entityManager.merge(product);
+                }
+                return null;
+            }));
+            for (int i = 0; i < stored.length; i++) {
+                changeLog.recordWrite(stored[i].getChangeSeq(), stored[i],
+                        created[i] ? ProductChangeEvent.Type.CREATED : ProductChangeEvent.Type.UPDATED);
+            }
+            return List.of(stored);
+        });
+    }
+    
+    private int remove(Long id) {
+        return changeLogTransaction.execute(status -> {
+            long seq = changeSequence.next();
+            int removed = shards.forId(id).write(entityManager -> {
+                Product product = entityManager.find(Product.class, id);
+                if (product == null) {
+                    return 0;
+                }
+                entityManager.remove(product);
+                return 1;
+            });
+            if (removed > 0) {
+                changeLog.recordDelete(seq, id);
+            }
+            return removed;
+        });
+    }
+    
+    /**
+     * Assigns an id to new products and a change sequence number (taken in the primary
+     * transaction) to every product; returns whether the product is new.
+     */
+    private boolean prepare(Product product) {
+        boolean isNew = product.getId() == null || product.getVersion() == null;
+        if (product.getId() == null) {
+            product.setId(idAllocator.nextId());
+        }
+        product.setChangeSeq(changeSequence.next());
+        return isNew;
+    }
+    
+    private static Product persist(EntityManager entityManager, Product product) {
+        entityManager.persist(product);
+        return product;
+    }
+    
+    private <S extends Product> List<S> gather(Function<ProductShardRepository, List<S>> query,
+                                               Comparator<? super S> order) {
+        return shards.scatter(query).stream()
+                .flatMap(List::stream)
+                .sorted(order)
+                .toList();
+    }
+    
+    private <S extends Product> Page<S> gatherPage(Pageable pageable,
+                                                   BiFunction<ProductShardRepository, Pageable, Page<S>> query) {
+        // Every shard may hold the whole requested page, so each returns offset + size rows.
+        Pageable shardPage = pageable.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort())
+                : pageable;
+        List<Page<S>> pages = shards.scatter(repository -> query.apply(repository, shardPage));
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<S> merged = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(comparatorFor(pageable.getSort()))
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .toList();
+        return new PageImpl<>(merged, pageable, total);
+    }
+    
+    private static List<Product> limit(List<Product> products, Pageable pageable) {
+        return pageable != null && pageable.isPaged() && products.size() > pageable.getPageSize()
+                ? products.subList(0, pageable.getPageSize())
+                : products;
+    }
+    
+    private static <S> Optional<S> single(List<Optional<S>> results) {
+        List<S> found = results.stream().flatMap(Optional::stream).toList();
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, found.size());
+        }
+        return found.stream().findFirst();
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Product> comparatorFor(Sort sort) {
+        Comparator<Product> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Object> values = order.isIgnoreCase()
+                    ? Comparator.nullsLast(Comparator.comparing(value -> value.toString().toLowerCase(Locale.ROOT)))
+                    : Comparator.nullsLast((left, right) -> ((Comparable) left).compareTo(right));
+            Comparator<Product> next = Comparator.comparing(
+                    product -> new BeanWrapperImpl(product).getPropertyValue(order.getProperty()), values);
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? BY_ID : comparator.thenComparing(BY_ID);
+    }
+    
+    private static <S extends Product> List<Product> toList(Iterable<S> products) {
+        List<Product> list = new ArrayList<>();
+        products.forEach(list::add);
+        return list;
+    }
+}
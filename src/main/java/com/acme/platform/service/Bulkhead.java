@@ -0,0 +1,98 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.BulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A named partition for blocking repository calls. Calls run on a scheduler of their own with
+ * at most {@code max-concurrent} threads, so the bulkhead never holds more JDBC connections than
+ * that; up to {@code max-queued} further calls wait for a thread, and calls beyond that fail
+ * immediately with {@link BulkheadFullException} instead of queueing behind a slow workload.
+ *
+ * <p>A JDBC call keeps running when its caller cancels, so a started call holds its slot until
+ * the work returns; a call cancelled while still queued gives its slot back at once.
+ */
+public class Bulkhead {
+    
+    private final String name;
+    private final int capacity;
+    private final Scheduler scheduler;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Counter rejected;
+    
+    public Bulkhead(String name, BulkheadProperties.Partition properties, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = properties.maxConcurrent() + properties.maxQueued();
+        // Admission is bounded above, so the scheduler's own task queue never fills.
+        this.scheduler = Schedulers.newBoundedElastic(properties.maxConcurrent(), Integer.MAX_VALUE,
+                "bulkhead-" + name, 60, true);
+        this.rejected = Counter.builder("amg.bulkhead.rejected")
+                .description("Calls rejected because the bulkhead was full")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("amg.bulkhead.active", running, AtomicInteger::get)
+                .description("Calls running on the bulkhead's threads")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("amg.bulkhead.queued", this, bulkhead -> Math.max(0, bulkhead.admitted.get() - bulkhead.running.get()))
+                .description("Calls waiting for a bulkhead thread")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+    
+    public <T> Mono<T> call(Callable<T> work) {
+        return Mono.defer(() -> {
+            if (admitted.incrementAndGet() > capacity) {
+                admitted.decrementAndGet();
+                rejected.increment();
+                return Mono.error(new BulkheadFullException(name, capacity));
+            }
+            // Whichever of the work and the caller's signal claims the call first releases its
+            // slot: the work once it finishes, the signal only when the work never started.
+            AtomicBoolean claimed = new AtomicBoolean();
+            return Mono.fromCallable(() -> {
+                        if (!claimed.compareAndSet(false, true)) {
+                            return null;
+                        }
+                        running.incrementAndGet();
+                        try {
+                            return work.call();
+                        } finally {
+                            running.decrementAndGet();
+                            admitted.decrementAndGet();
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> {
+                        if (claimed.compareAndSet(false, true)) {
+                            admitted.decrementAndGet();
+                        }
+                    });
+        });
+    }
+    
+    public Mono<Void> run(Runnable work) {
+        return call(() -> {
+            work.run();
+            return null;
+        }).then();
+    }
+    
+    public String name() {
+        return name;
+    }
+    
+    void dispose() {
+        scheduler.dispose();
+    }
+}
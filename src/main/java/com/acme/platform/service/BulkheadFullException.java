@@ -0,0 +1,8 @@
+package com.acme.platform.service;
+
+public class BulkheadFullException extends RuntimeException {
+    
+    public BulkheadFullException(String bulkhead, int capacity) {
+        super("Bulkhead " + bulkhead + " is full (" + capacity + " running or queued calls)");
+    }
+}
@@ -0,0 +1,60 @@
+package com.acme.platform.service;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags derived from the JPA {@code @Version} of an entity, or from the
+ * ordered ids and versions of a collection. Values are unquoted; {@code ResponseEntity.eTag}
+ * adds the quotes.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Product product) {
+        return "product-" + product.getId() + "-" + versionOf(product.getVersion());
+    }
+
+    public static String of(User user) {
+        return "user-" + user.getId() + "-" + versionOf(user.getVersion());
+    }
+
+    public static String ofProducts(List<Product> products) {
+        return ofCollection("products", products, Product::getId, Product::getVersion);
+    }
+
+    public static String ofUsers(List<User> users) {
+        return ofCollection("users", users, User::getId, User::getVersion);
+    }
+
+    private static <T> String ofCollection(String kind, List<T> items, Function<T, Long> id, Function<T, Long> version) {
+        MessageDigest digest = sha256();
+        for (T item : items) {
+            String entry = id.apply(item) + ":" + versionOf(version.apply(item)) + ";";
+            digest.update(entry.getBytes(StandardCharsets.US_ASCII));
+        }
+        String hash = HexFormat.of().formatHex(digest.digest(), 0, 16);
+        return kind + "-" + items.size() + "-" + hash;
+    }
+
+    private static long versionOf(Long version) {
+        return version != null ? version : 0L;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.acme.platform.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of the normalized emails stored in {@code users}, plus the emails of signups
+ * still in flight, so a conflicting signup is rejected without touching the database.
+ * <p>
+ * The set is a fast path for this node only: the unique index on {@code email_normalized}
+ * stays the arbiter, for writes from other nodes and for the window between a reservation
+ * and the commit that registers it.
+ */
+@Component
+public class EmailRegistry implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailRegistry.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+    private final Set<String> reserved = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    
+    public EmailRegistry(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Claims a normalized email for a signup. Returns {@code false} if it is already stored
+     * or claimed by a concurrent signup; otherwise the caller must {@link #release} it once
+     * its transaction has finished.
+     */
+    public boolean tryReserve(String normalizedEmail) {
+        if (registered.contains(normalizedEmail)) {
+            return false;
+        }
+        return reserved.add(normalizedEmail);
+    }
+    
+    public void release(String normalizedEmail) {
+        reserved.remove(normalizedEmail);
+    }
+    
+    public boolean isRegistered(String normalizedEmail) {
+        return registered.contains(normalizedEmail);
+    }
+    
+    public int size() {
+        return registered.size();
+    }
+    
+    void register(String normalizedEmail) {
+        registered.add(normalizedEmail);
+    }
+    
+    void unregister(String normalizedEmail) {
+        registered.remove(normalizedEmail);
+    }
+    
+    @Override
+    public void start() {
+        long started = System.nanoTime();
+        jdbcTemplate.query("select email_normalized from users", rs -> {
+            registered.add(rs.getString(1));
+        });
+        running = true;
+        logger.info("Loaded {} user emails into the registry in {} ms",
+                registered.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        // Load before the web server starts accepting signups
+        return 0;
+    }
+}
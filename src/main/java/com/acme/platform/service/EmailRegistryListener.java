@@ -0,0 +1,70 @@
+package com.acme.platform.service;
+
+import com.acme.platform.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener that keeps the {@link EmailRegistry} in step with committed user
+ * writes. Runs before the entity's own callbacks, so on update the stored email is still
+ * the one being replaced.
+ */
+public class EmailRegistryListener {
+    
+    private final ObjectProvider<EmailRegistry> registry;
+    
+    public EmailRegistryListener(ObjectProvider<EmailRegistry> registry) {
+        this.registry = registry;
+    }
+    
+    @PostPersist
+    public void onCreate(User user) {
+        String email = user.getEmailNormalized();
+        afterCommit(target -> target.register(email));
+    }
+    
+    @PostUpdate
+    public void onUpdate(User user) {
+        String previous = user.getStoredEmailNormalized();
+        String current = user.getEmailNormalized();
+        if (current.equals(previous)) {
+            return;
+        }
+        afterCommit(target -> {
+            target.register(current);
+            if (previous != null) {
+                target.unregister(previous);
+            }
+        });
+    }
+    
+    @PostRemove
+    public void onDelete(User user) {
+        String stored = user.getStoredEmailNormalized();
+        String email = stored != null ? stored : user.getEmailNormalized();
+        afterCommit(target -> target.unregister(email));
+    }
+    
+    private void afterCommit(Consumer<EmailRegistry> change) {
+        EmailRegistry target = registry.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.accept(target);
+                }
+            });
+        } else {
+            change.accept(target);
+        }
+    }
+}
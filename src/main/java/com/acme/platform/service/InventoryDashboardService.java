@@ -0,0 +1,180 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.DashboardProperties;
+import com.acme.platform.datasource.ReadConsistency;
+import com.acme.platform.model.InventoryDashboard;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.specification.ProductSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the inventory dashboard from independent sub-queries forked onto virtual threads
+ * and joined within the request, so the response takes as long as the slowest one rather
+ * than their sum. Every sub-query has its own deadline ({@code amg.dashboard.timeouts},
+ * falling back to {@code amg.dashboard.timeout}); one that fails or misses it is cancelled
+ * and reported as degraded instead of failing the dashboard. Cancelling does not interrupt
+ * the sub-query's thread, which would close H2's file channel mid-read; instead each
+ * sub-query runs in a read-only transaction whose timeout the JDBC driver enforces on its
+ * statements, so an abandoned query ends shortly after its deadline. Every section reads the
+ * repository directly, so one response does not mix cached and current figures.
+ */
+@Service
+public class InventoryDashboardService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryDashboardService.class);
+    
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DashboardProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("inventory-dashboard-", 0).factory());
+    
+    public InventoryDashboardService(ProductRepository productRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     DashboardProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.transactionManager = transactionManager;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public InventoryDashboard inventory() {
+        List<SubQuery<?>> forked = new ArrayList<>();
+        SubQuery<BigDecimal> totalValue = fork(forked, "totalValue", "totalValue", productRepository::totalInventoryValue);
+        SubQuery<Long> count = fork(forked, "count", "count", () -> productRepository.count());
+        SubQuery<Long> inStock = fork(forked, "inStock", "inStock",
+                () -> productRepository.count(ProductSpecification.isInStock()));
+        SubQuery<Long> outOfStock = fork(forked, "outOfStock", "outOfStock",
+                () -> productRepository.count(ProductSpecification.isOutOfStock()));
+        List<BigDecimal> bounds = priceBounds();
+        List<SubQuery<Long>> priceRanges = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            BigDecimal min = bounds.get(i);
+            BigDecimal max = bounds.get(i + 1);
+            priceRanges.add(fork(forked, "priceRange", "priceRange[" + label(min) + "-" + label(max) + ")",
+                    () -> productRepository.count(ProductSpecification.hasPriceInRange(min, max))));
+        }
+        
+        List<String> degraded = new ArrayList<>();
+        try {
+            for (SubQuery<?> subQuery : forked) {
+                subQuery.join(degraded);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the inventory dashboard", e);
+        } finally {
+            forked.forEach(subQuery -> subQuery.future.cancel(false));
+        }
+        
+        List<InventoryDashboard.PriceRange> ranges = new ArrayList<>(priceRanges.size());
+        for (int i = 0; i < priceRanges.size(); i++) {
+            ranges.add(new InventoryDashboard.PriceRange(bounds.get(i), bounds.get(i + 1), priceRanges.get(i).result));
+        }
+        return new InventoryDashboard(totalValue.result, count.result, inStock.result, outOfStock.result,
+                ranges, degraded);
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Price breaks {@code [10, 50]} yield the bounds {@code [null, 10, 50, null]}, i.e. the
+     * ranges below 10, 10 to 50, and 50 and above.
+     */
+    private List<BigDecimal> priceBounds() {
+        List<BigDecimal> bounds = new ArrayList<>(properties.priceBreaks().size() + 2);
+        bounds.add(null);
+        properties.priceBreaks().stream().sorted().distinct().forEach(bounds::add);
+        bounds.add(null);
+        return bounds;
+    }
+    
+    private static String label(BigDecimal bound) {
+        return bound != null ? bound.toPlainString() : "";
+    }
+    
+    private <T> SubQuery<T> fork(List<SubQuery<?>> forked, String section, String name, Supplier<T> query) {
+        Duration timeout = properties.timeoutFor(section);
+        SubQuery<T> subQuery = new SubQuery<>(section, name, System.nanoTime() + timeout.toNanos());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        // Sub-queries run on other threads, so they carry over the request's read-your-writes requirement.
+        long requiredLsn = ReadConsistency.requiredLsn();
+        subQuery.future = executor.submit(() -> {
+            Long previous = ReadConsistency.require(requiredLsn);
+            try {
+                return transaction.execute(status -> query.get());
+            } finally {
+                ReadConsistency.restore(previous);
+                subQuery.finished = System.nanoTime();
+            }
+        });
+        forked.add(subQuery);
+        return subQuery;
+    }
+    
+    private final class SubQuery<T> {
+        
+        private final String section;
+        private final String name;
+        private final long deadline;
+        private final long started = System.nanoTime();
+        private Future<T> future;
+        private volatile long finished;
+        private T result;
+        
+        private SubQuery(String section, String name, long deadline) {
+            this.section = section;
+            this.name = name;
+            this.deadline = deadline;
+        }
+        
+        void join(List<String> degraded) throws InterruptedException {
+            String outcome = "success";
+            try {
+                result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                outcome = "timeout";
+                future.cancel(false);
+                logger.warn("Dashboard query {} timed out after {}", name, properties.timeoutFor(section));
+                degraded.add(name);
+            } catch (ExecutionException e) {
+                outcome = "error";
+                logger.warn("Dashboard query {} failed: {}", name, e.getCause().getMessage());
+                degraded.add(name);
+            }
+            long end = outcome.equals("timeout") ? System.nanoTime() : finished;
+            Timer.builder("amg.dashboard.query")
+                    .description("Latency of inventory dashboard sub-queries, up to their timeout")
+                    .tag("section", section)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(end - started));
+        }
+    }
+}
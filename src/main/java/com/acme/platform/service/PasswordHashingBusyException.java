@@ -0,0 +1,8 @@
+package com.acme.platform.service;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException(int queueCapacity) {
+        super("Password hashing is saturated (" + queueCapacity + " queued)");
+    }
+}
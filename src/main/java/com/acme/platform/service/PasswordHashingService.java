@@ -0,0 +1,197 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies passwords with BCrypt on a dedicated, bounded pool, so the CPU spent on
+ * hashing is capped at {@code threads} cores whatever the request rate. Callers wait for their
+ * result; once {@code queue-capacity} hashes are waiting, further calls fail fast with
+ * {@link PasswordHashingBusyException} instead of holding more request threads.
+ * <p>
+ * Stored values that are not BCrypt hashes (accounts created before hashing) are compared
+ * as plain text and reported by {@link #needsRehash}, as are hashes of a different cost.
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final Pattern BCRYPT = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 3;
+    
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int cost;
+    private final BCryptPasswordEncoder encoder;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+    
+    public PasswordHashingService(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.threads = properties.threads() > 0
+                ? properties.threads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.cost = properties.cost() != null ? properties.cost() : calibrate();
+        this.encoder = new BCryptPasswordEncoder(cost);
+        
+        this.hashTimer = Timer.builder("amg.password.hash.time").tag("operation", "hash").register(meterRegistry);
+        this.verifyTimer = Timer.builder("amg.password.hash.time").tag("operation", "verify").register(meterRegistry);
+        this.rejected = Counter.builder("amg.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("amg.password.hash.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("amg.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("amg.password.hash.cost", () -> cost).register(meterRegistry);
+        logger.info("Password hashing uses BCrypt cost {} on {} threads", cost, threads);
+    }
+    
+    public String hash(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword), hashTimer);
+    }
+    
+    /**
+     * Hashes a batch of passwords in parallel, in order. At most {@code threads} of them are
+     * submitted at a time, so a bulk import keeps every hashing thread busy without filling
+     * the queue that interactive writes depend on.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(threads);
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (inFlight.size() >= threads) {
+                    hashes.add(await(inFlight.poll()));
+                }
+                inFlight.add(submit(() -> encoder.encode(rawPassword), hashTimer));
+            }
+            while (!inFlight.isEmpty()) {
+                hashes.add(await(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return hashes;
+    }
+    
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return run(() -> encoder.matches(rawPassword, storedPassword), verifyTimer);
+    }
+    
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || costOf(storedPassword) != cost;
+    }
+    
+    public int cost() {
+        return cost;
+    }
+    
+    static boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT.matcher(storedPassword).matches();
+    }
+    
+    static int costOf(String hash) {
+        int end = hash.indexOf('$', 1);
+        return Integer.parseInt(hash.substring(end + 1, end + 3));
+    }
+    
+    /**
+     * The highest cost whose hash time stays within {@code target}, given the time one hash
+     * took at {@code probeCost}; each cost step doubles the work.
+     */
+    static int costFor(Duration target, Duration probe, int probeCost, int minCost, int maxCost) {
+        double ratio = (double) target.toNanos() / Math.max(1, probe.toNanos());
+        int calibrated = probeCost + (int) Math.floor(Math.log(ratio) / Math.log(2));
+        return Math.max(minCost, Math.min(maxCost, calibrated));
+    }
+    
+    private int calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_COST);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long started = System.nanoTime();
+            probe.encode("calibration-probe");
+            fastest = Math.min(fastest, System.nanoTime() - started);
+        }
+        int calibrated = costFor(properties.targetLatency(), Duration.ofNanos(fastest), PROBE_COST,
+                properties.minCost(), properties.maxCost());
+        logger.info("Calibrated BCrypt cost {} for a {} ms target (cost {} took {} µs)",
+                calibrated, properties.targetLatency().toMillis(), PROBE_COST, fastest / 1_000);
+        return calibrated;
+    }
+    
+    private <T> T run(Callable<T> task, Timer timer) {
+        return await(submit(task, timer));
+    }
+    
+    private <T> Future<T> submit(Callable<T> task, Timer timer) {
+        try {
+            return executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(properties.queueCapacity());
+        }
+    }
+    
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(properties.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException(properties.queueCapacity());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingBusyException(properties.queueCapacity());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,202 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.BatchLoaderProperties;
+import com.acme.platform.datasource.ReadConsistency;
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.R2dbcProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Opt-in coalescing of concurrent product lookups by id. Lookups arriving within
+ * {@code window} of the first pending one are answered together by a single
+ * {@code findAllById} query, or sooner once {@code max-batch-size} distinct ids are pending;
+ * the same id asked twice in one window is fetched once.
+ * <p>
+ * {@link #findById} serves blocking callers through JPA on {@code threads} loader threads and
+ * honours the strictest read consistency among the callers of a batch. {@link #load} serves
+ * reactive callers through R2DBC when it is available, without a thread hop per lookup.
+ * <p>
+ * Callers of the same id share one fetch but each gets its own future and its own copy of the
+ * product, so a caller that cancels or modifies its result does not affect the others.
+ */
+@Service
+@ConditionalOnProperty(prefix = "amg.batch-loader", name = "enabled", havingValue = "true")
+public class ProductBatchLoader implements DisposableBean {
+    
+    private final BatchLoaderProperties properties;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService loaders;
+    private final Window blocking;
+    private final Window reactive;
+    
+    public ProductBatchLoader(ProductRepository productRepository,
+                              @Nullable R2dbcProductRepository r2dbcProductRepository,
+                              BatchLoaderProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "product-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.loaders = Executors.newFixedThreadPool(properties.threads(), task -> {
+            Thread thread = new Thread(task, "product-batch-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.blocking = new Window("jpa", meterRegistry, (ids, requiredLsn) -> CompletableFuture.supplyAsync(() -> {
+            Long previous = ReadConsistency.require(requiredLsn);
+            try {
+                return productRepository.findAllById(ids);
+            } finally {
+                ReadConsistency.restore(previous);
+            }
+        }, loaders));
+        this.reactive = r2dbcProductRepository != null
+                ? new Window("r2dbc", meterRegistry,
+                        (ids, requiredLsn) -> r2dbcProductRepository.findAllById(ids).collectList().toFuture())
+                : blocking;
+    }
+    
+    public Optional<Product> findById(Long id) {
+        try {
+            return Optional.ofNullable(blocking.load(id).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    public Mono<Product> load(Long id) {
+        return Mono.fromFuture(() -> reactive.load(id));
+    }
+    
+    private static Product copyOf(@Nullable Product product) {
+        if (product == null) {
+            return null;
+        }
+        Product copy = new Product(product.getName(), product.getDescription(), product.getPrice(), product.getStock());
+        copy.setId(product.getId());
+        copy.setVersion(product.getVersion());
+        copy.setCreatedAt(product.getCreatedAt());
+        copy.setUpdatedAt(product.getUpdatedAt());
+        copy.setChangeSeq(product.getChangeSeq());
+        return copy;
+    }
+    
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        loaders.shutdown();
+    }
+    
+    /**
+     * Ids waiting for the same query. The first id of an empty window schedules its flush.
+     */
+    private final class Window {
+        
+        private final BiFunction<Set<Long>, Long, CompletionStage<List<Product>>> fetch;
+        private final DistributionSummary batchSizes;
+        
+        private Map<Long, CompletableFuture<Product>> pending = new HashMap<>();
+        private long requiredLsn;
+        private ScheduledFuture<?> scheduledFlush;
+        
+        Window(String path, MeterRegistry meterRegistry,
+               BiFunction<Set<Long>, Long, CompletionStage<List<Product>>> fetch) {
+            this.fetch = fetch;
+            this.batchSizes = DistributionSummary.builder("amg.product.batch.size")
+                    .tag("path", path)
+                    .register(meterRegistry);
+        }
+        
+        CompletableFuture<Product> load(Long id) {
+            Map<Long, CompletableFuture<Product>> full = null;
+            long lsn = 0;
+            CompletableFuture<Product> result;
+            synchronized (this) {
+                result = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+                requiredLsn = Math.max(requiredLsn, ReadConsistency.requiredLsn());
+                if (pending.size() >= properties.maxBatchSize()) {
+                    if (scheduledFlush != null) {
+                        scheduledFlush.cancel(false);
+                    }
+                    full = pending;
+                    lsn = requiredLsn;
+                    reset();
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = timer.schedule(this::flush, properties.window().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (full != null) {
+                dispatch(full, lsn);
+            }
+            // A dependent future per caller: cancelling it leaves the shared one and the other callers alone
+            return result.thenApply(ProductBatchLoader::copyOf);
+        }
+        
+        private void flush() {
+            Map<Long, CompletableFuture<Product>> batch;
+            long lsn;
+            synchronized (this) {
+                batch = pending;
+                lsn = requiredLsn;
+                reset();
+            }
+            if (!batch.isEmpty()) {
+                dispatch(batch, lsn);
+            }
+        }
+        
+        private void reset() {
+            pending = new HashMap<>();
+            requiredLsn = 0;
+            scheduledFlush = null;
+        }
+        
+        private void dispatch(Map<Long, CompletableFuture<Product>> batch, long lsn) {
+            batchSizes.record(batch.size());
+            CompletionStage<List<Product>> products;
+            try {
+                products = fetch.apply(batch.keySet(), lsn);
+            } catch (RuntimeException e) {
+                products = CompletableFuture.failedFuture(e);
+            }
+            products.whenComplete((found, error) -> {
+                if (error != null) {
+                    batch.values().forEach(future -> future.completeExceptionally(error));
+                    return;
+                }
+                Map<Long, Product> byId = new HashMap<>();
+                found.forEach(product -> byId.put(product.getId(), product));
+                batch.forEach((id, future) -> future.complete(byId.get(id)));
+            });
+        }
+    }
+}
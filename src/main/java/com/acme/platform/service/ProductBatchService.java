@@ -0,0 +1,157 @@
+package com.acme.platform.service;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductBatchGetResult;
+import com.acme.platform.model.ProductBatchOperation;
+import com.acme.platform.model.ProductBatchResult;
+import com.acme.platform.repository.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-get and batch mutations for products. Lookups are read with one {@code findAllById}
+ * query rather than from the {@code products} cache, which single-item, reactive and
+ * write-behind updates do not evict. Mutations run in one transaction and report a status per
+ * item: invalid items, unknown ids and repeated ids are reported without failing the other
+ * items.
+ */
+@Service
+public class ProductBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBatchService.class);
+    
+    public static final int MAX_BATCH_SIZE = 500;
+    
+    private final ProductRepository productRepository;
+    private final Validator validator;
+    
+    public ProductBatchService(ProductRepository productRepository, Validator validator) {
+        this.productRepository = productRepository;
+        this.validator = validator;
+    }
+    
+    public ProductBatchGetResult findAllById(List<Long> ids) {
+        checkSize(ids.size());
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Product> found = new HashMap<>();
+        productRepository.findAllById(requested).forEach(product -> found.put(product.getId(), product));
+        
+        List<Product> products = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchGetResult(products, missingIds);
+    }
+    
+    @Transactional
+    @CacheEvict(value = {"products", "productStats"}, allEntries = true)
+    public ProductBatchResult apply(List<ProductBatchOperation> operations) {
+        checkSize(operations.size());
+        Set<Long> ids = operations.stream()
+                .filter(Objects::nonNull)
+                .map(ProductBatchOperation::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> existing = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> existing.put(product.getId(), product));
+        
+        ProductBatchResult.Item[] results = new ProductBatchResult.Item[operations.size()];
+        Set<Long> touched = new HashSet<>();
+        List<Product> saves = new ArrayList<>();
+        List<Integer> saveIndexes = new ArrayList<>();
+        for (int index = 0; index < operations.size(); index++) {
+            ProductBatchOperation operation = operations.get(index);
+            Long id = operation != null ? operation.id() : null;
+            String invalid = validate(operation);
+            if (invalid != null) {
+                results[index] = failure(index, id, HttpStatus.BAD_REQUEST, invalid);
+            } else if (id != null && !touched.add(id)) {
+                results[index] = failure(index, id, HttpStatus.CONFLICT, "Product " + id + " appears more than once in the batch");
+            } else if (operation.type() == ProductBatchOperation.Type.DELETE) {
+                boolean removed = existing.containsKey(id) && productRepository.removeById(id) > 0;
+                results[index] = removed
+                        ? new ProductBatchResult.Item(index, id, HttpStatus.NO_CONTENT.value(), null)
+                        : failure(index, id, HttpStatus.NOT_FOUND, "Product not found: " + id);
+            } else if (id == null) {
+                Product details = operation.product();
+                saves.add(new Product(details.getName(), details.getDescription(), details.getPrice(), details.getStock()));
+                saveIndexes.add(index);
+            } else if (!existing.containsKey(id)) {
+                results[index] = failure(index, id, HttpStatus.NOT_FOUND, "Product not found: " + id);
+            } else {
+                Product product = existing.get(id);
+                Product details = operation.product();
+                product.setName(details.getName());
+                product.setDescription(details.getDescription());
+                product.setPrice(details.getPrice());
+                product.setStock(details.getStock());
+                saves.add(product);
+                saveIndexes.add(index);
+            }
+        }
+        
+        List<Product> saved = productRepository.saveAll(saves);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = saveIndexes.get(i);
+            HttpStatus status = operations.get(index).id() == null ? HttpStatus.CREATED : HttpStatus.OK;
+            results[index] = new ProductBatchResult.Item(index, saved.get(i).getId(), status.value(), null);
+        }
+        logger.info("Applied product batch of {} operations ({} saved)", operations.size(), saved.size());
+        return new ProductBatchResult(List.of(results));
+    }
+    
+    private String validate(ProductBatchOperation operation) {
+        if (operation == null || operation.type() == null) {
+            return "type is required";
+        }
+        if (operation.type() == ProductBatchOperation.Type.DELETE) {
+            return operation.id() == null ? "id is required for DELETE" : null;
+        }
+        if (operation.product() == null) {
+            return "product is required for UPSERT";
+        }
+        Set<ConstraintViolation<Product>> violations = validator.validate(operation.product());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private static ProductBatchResult.Item failure(int index, Long id, HttpStatus status, String error) {
+        return new ProductBatchResult.Item(index, id, status.value(), error);
+    }
+    
+    private static void checkSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " items per batch, got " + size);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.BulkheadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * The bulkheads blocking product repository work is split into: lookups by id, scans
+ * (listing, search and counts) and writes. A slow scan can only exhaust the scan bulkhead.
+ */
+public class ProductBulkheads implements DisposableBean {
+    
+    private final Bulkhead pointReads;
+    private final Bulkhead scans;
+    private final Bulkhead writes;
+    
+    public ProductBulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.pointReads = new Bulkhead("point-reads", properties.pointReads(), meterRegistry);
+        this.scans = new Bulkhead("scans", properties.scans(), meterRegistry);
+        this.writes = new Bulkhead("writes", properties.writes(), meterRegistry);
+    }
+    
+    public Bulkhead pointReads() {
+        return pointReads;
+    }
+    
+    public Bulkhead scans() {
+        return scans;
+    }
+    
+    public Bulkhead writes() {
+        return writes;
+    }
+    
+    @Override
+    public void destroy() {
+        pointReads.dispose();
+        scans.dispose();
+        writes.dispose();
+    }
+}
@@ -41,6 +41,20 @@ public class ProductCacheService {
         return productRepository.findByNameContainingIgnoreCase(name);
     }
     
+    @Cacheable(value = "products", key = "'all:tagged'")
+    public Tagged<List<Product>> findAllTagged() {
+        logger.info("Fetching all products with ETag from database");
+        List<Product> products = productRepository.findAll();
+        return new Tagged<>(products, ETags.ofProducts(products));
+    }
+    
+    @Cacheable(value = "products", key = "'name:tagged:' + #name")
+    public Tagged<List<Product>> findByNameTagged(String name) {
+        logger.info("Searching products by name with ETag from database: {}", name);
+        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
+        return new Tagged<>(products, ETags.ofProducts(products));
+    }
+    
     @CacheEvict(value = {"products", "productStats"}, allEntries = true)
     public Product save(Product product) {
         logger.info("Saving product to database: {}", product.getName());
@@ -58,10 +72,7 @@ public class ProductCacheService {
     @Cacheable(value = "productStats", key = "'totalValue'")
     public BigDecimal calculateTotalInventoryValue() {
         logger.info("Calculating total inventory value from database");
-        List<Product> products = productRepository.findAll();
-        return products.stream()
-                .map(p -> p.getPrice().multiply(BigDecimal.valueOf(p.getStock())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return productRepository.totalInventoryValue();
     }
     
     @Cacheable(value = "productStats", key = "'count'")
@@ -0,0 +1,209 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.ProductFeedProperties;
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChange;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.repository.ProductChangeSequence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single hot stream of committed product changes for streaming clients. Changes arrive once
+ * from {@link ProductOutboxRelay}, however many clients listen, and the last {@code replay-size}
+ * of them are kept for clients that are still joining.
+ * <p>
+ * A joining client first receives every product from a snapshot taken at a stable change
+ * sequence watermark, then the changes after that watermark. The snapshot is shared by all
+ * clients joining within {@code snapshot-ttl}, as long as the replay buffer still reaches back
+ * to its watermark, so a crowd of dashboards costs one table read. A client that lets more than
+ * {@code subscriber-buffer} changes pile up, or that reads its snapshot so slowly that the
+ * replay buffer moves past the watermark, gets an error and is expected to reconnect.
+ * <p>
+ * Clients that cannot keep up with every change can use {@link #conflated()} instead, which
+ * keeps only the latest change per product and delivers them in periodic batches.
+ */
+@Service
+public class ProductChangeFeed implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeFeed.class);
+    
+    private final ReactiveProductService reactiveProductService;
+    private final ProductChangeSequence changeSequence;
+    private final ProductFeedProperties properties;
+    private final Sinks.Many<Entry> sink;
+    private final Mono<Snapshot> snapshot;
+    
+    // Written by the relay thread only.
+    private final long[] retainedSeqs;
+    private long published;
+    private long lastSeq;
+    private volatile long evictedThrough;
+    
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter snapshotLoads;
+    private final Counter overflows;
+    private final Counter conflatedChanges;
+    private final DistributionSummary batchSizes;
+    
+    public ProductChangeFeed(ReactiveProductService reactiveProductService,
+                             ProductChangeSequence changeSequence,
+                             ProductFeedProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.reactiveProductService = reactiveProductService;
+        this.changeSequence = changeSequence;
+        this.properties = properties;
+        this.sink = Sinks.many().replay().limit(properties.replaySize());
+        this.retainedSeqs = new long[properties.replaySize()];
+        this.snapshot = Mono.defer(this::loadSnapshot).cacheInvalidateIf(this::isStale);
+        
+        this.snapshotLoads = Counter.builder("amg.product.feed.snapshots").register(meterRegistry);
+        this.overflows = Counter.builder("amg.product.feed.overflows").register(meterRegistry);
+        this.conflatedChanges = Counter.builder("amg.product.feed.conflated").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("amg.product.feed.batch.size").register(meterRegistry);
+        Gauge.builder("amg.product.feed.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+    }
+    
+    @Override
+    public void onProductChange(ProductChangeEvent event) {
+        if (event.seq() <= lastSeq) {
+            return;
+        }
+        int slot = (int) (published % retainedSeqs.length);
+        if (published >= retainedSeqs.length) {
+            evictedThrough = retainedSeqs[slot];
+        }
+        retainedSeqs[slot] = event.seq();
+        published++;
+        Sinks.EmitResult result = sink.tryEmitNext(new Entry(event, lastSeq));
+        if (result.isFailure()) {
+            logger.warn("Product change feed could not publish seq {}: {}", event.seq(), result);
+        }
+        lastSeq = event.seq();
+    }
+    
+    /**
+     * The current state of every product as upserts, followed by each later change as it is
+     * relayed. The stream never completes on its own.
+     */
+    public Flux<ProductChange> stream() {
+        return snapshot
+                .flatMapMany(current -> Flux.fromIterable(current.products())
+                        .map(ProductChange::upsert)
+                        .concatWith(tail(current)))
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+    
+    /**
+     * Same content as {@link #stream()}, but each subscriber's undelivered changes are merged so
+     * only the latest one per product id is kept, and sent every {@code conflation-interval} as
+     * one batch once the subscriber has asked for more. A slow subscriber therefore holds at
+     * most one pending change per product instead of a queue of every change.
+     */
+    public Flux<List<ProductChange>> conflated() {
+        return Flux.create(emitter -> {
+            Map<Long, ProductChange> pending = new LinkedHashMap<>();
+            Disposable changes = stream().subscribe(change -> {
+                synchronized (pending) {
+                    if (pending.put(change.productId(), change) != null) {
+                        conflatedChanges.increment();
+                    }
+                }
+            }, emitter::error);
+            Disposable flushes = Flux.interval(properties.conflationInterval()).subscribe(tick -> {
+                if (emitter.requestedFromDownstream() == 0) {
+                    return;
+                }
+                List<ProductChange> batch;
+                synchronized (pending) {
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    batch = List.copyOf(pending.values());
+                    pending.clear();
+                }
+                batchSizes.record(batch.size());
+                emitter.next(batch);
+            });
+            emitter.onDispose(() -> {
+                changes.dispose();
+                flushes.dispose();
+            });
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+    
+    private Flux<ProductChange> tail(Snapshot current) {
+        AtomicBoolean joined = new AtomicBoolean();
+        return sink.asFlux()
+                .onBackpressureBuffer(properties.subscriberBuffer(), entry -> overflows.increment())
+                .filter(entry -> entry.event().seq() > current.watermark())
+                .handle((entry, downstream) -> {
+                    // Entries reach each subscriber contiguously, so the first one past the
+                    // watermark must directly follow a change the snapshot already contains.
+                    if (!joined.getAndSet(true) && entry.previousSeq() > current.watermark()) {
+                        downstream.error(new IllegalStateException("Product change feed moved past snapshot at seq "
+                                + current.watermark() + "; reconnect to resume"));
+                    } else if (!current.contains(entry.event())) {
+                        downstream.next(ProductChange.of(entry.event()));
+                    }
+                });
+    }
+    
+    private Mono<Snapshot> loadSnapshot() {
+        long watermark = changeSequence.stableWatermark();
+        snapshotLoads.increment();
+        logger.info("Loading product feed snapshot at seq {}", watermark);
+        return reactiveProductService.findAll()
+                .collectList()
+                .map(products -> Snapshot.of(watermark, products));
+    }
+    
+    private boolean isStale(Snapshot current) {
+        return current.takenAt().plus(properties.snapshotTtl()).isBefore(Instant.now())
+                || evictedThrough > current.watermark();
+    }
+    
+    private record Entry(ProductChangeEvent event, long previousSeq) {
+    }
+    
+    /**
+     * Products as of {@code watermark}. Rows committed while the snapshot was read may be newer;
+     * their sequence numbers are kept so the matching changes are not delivered twice.
+     */
+    private record Snapshot(long watermark, List<Product> products, Map<Long, Long> newerRows, Instant takenAt) {
+        
+        static Snapshot of(long watermark, List<Product> products) {
+            Map<Long, Long> newerRows = new HashMap<>();
+            for (Product product : products) {
+                if (product.getChangeSeq() != null && product.getChangeSeq() > watermark) {
+                    newerRows.put(product.getId(), product.getChangeSeq());
+                }
+            }
+            return new Snapshot(watermark, products, newerRows, Instant.now());
+        }
+        
+        boolean contains(ProductChangeEvent event) {
+            Long seq = newerRows.get(event.productId());
+            return seq != null && event.seq() <= seq;
+        }
+    }
+}
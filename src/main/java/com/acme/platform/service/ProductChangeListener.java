@@ -0,0 +1,13 @@
+package com.acme.platform.service;
+
+import com.acme.platform.model.ProductChangeEvent;
+
+/**
+ * Receives committed product changes from {@link ProductOutboxRelay}, in change sequence
+ * order. Delivery is at-least-once across restarts, so implementations should be idempotent
+ * per {@link ProductChangeEvent#seq()}.
+ */
+@FunctionalInterface
+public interface ProductChangeListener {
+    void onProductChange(ProductChangeEvent event);
+}
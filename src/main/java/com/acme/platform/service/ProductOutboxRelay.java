@@ -0,0 +1,205 @@
+package com.acme.platform.service;
+
+import com.acme.platform.datasource.ReadConsistency;
+import com.acme.platform.config.OutboxProperties;
+import com.acme.platform.model.OutboxOffset;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.model.ProductOutboxEvent;
+import com.acme.platform.model.ProductSnapshot;
+import com.acme.platform.repository.OutboxOffsetRepository;
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes rows of the transactional product outbox to in-process {@link ProductChangeListener}s.
+ * The relay wakes up as soon as a product transaction commits and falls back to polling. Its
+ * offset is stored in {@code outbox_offsets}, so after a restart it resumes from the last
+ * relayed change and subscribers can rebuild derived state incrementally.
+ */
+@Service
+public class ProductOutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductOutboxRelay.class);
+    
+    static final String CONSUMER = "in-process-relay";
+    
+    private final ProductOutboxRepository outboxRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final ProductChangeSequence changeSequence;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final ObjectProvider<ProductChangeListener> listenerBeans;
+    private final List<ProductChangeListener> listeners = new CopyOnWriteArrayList<>();
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition signal = lock.newCondition();
+    private boolean signalled;
+    
+    private volatile boolean running;
+    private volatile long offset;
+    private Thread worker;
+    private Instant lastPrune = Instant.EPOCH;
+    
+    public ProductOutboxRelay(ProductOutboxRepository outboxRepository,
+                              OutboxOffsetRepository offsetRepository,
+                              ProductChangeSequence changeSequence,
+                              ObjectMapper objectMapper,
+                              OutboxProperties properties,
+                              ObjectProvider<ProductChangeListener> listenerBeans) {
+        this.outboxRepository = outboxRepository;
+        this.offsetRepository = offsetRepository;
+        this.changeSequence = changeSequence;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.listenerBeans = listenerBeans;
+    }
+    
+    public Runnable subscribe(ProductChangeListener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    @Override
+    public void start() {
+        listenerBeans.orderedStream().forEach(listeners::add);
+        offset = offsetRepository.findById(CONSUMER).map(OutboxOffset::getLastSeq).orElse(0L);
+        logger.info("Starting product outbox relay from offset {}", offset);
+        changeSequence.onCommit(this::wakeUp);
+        running = true;
+        worker = new Thread(this::run, "product-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        wakeUp();
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Stopped product outbox relay at offset {}", offset);
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    void wakeUp() {
+        lock.lock();
+        try {
+            signalled = true;
+            signal.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int relayBatch() {
+        long after = offset;
+        long upTo = changeSequence.stableWatermark();
+        if (upTo <= after) {
+            return 0;
+        }
+        int batchSize = properties.batchSize();
+        List<ProductOutboxEvent> batch = ReadConsistency.onPrimary(
+                () -> outboxRepository.findBetween(after, upTo, PageRequest.of(0, batchSize)));
+        for (ProductOutboxEvent row : batch) {
+            dispatch(toEvent(row));
+        }
+        // A short batch means every sequence number up to the watermark has been seen;
+        // the gaps left by rolled-back transactions are skipped.
+        long relayed = batch.size() < batchSize ? upTo : batch.get(batch.size() - 1).getSeq();
+        offsetRepository.save(new OutboxOffset(CONSUMER, relayed, Instant.now()));
+        offset = relayed;
+        return batch.size();
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                int relayed = relayBatch();
+                pruneIfDue();
+                if (relayed < properties.batchSize()) {
+                    awaitSignal();
+                }
+            } catch (RuntimeException e) {
+                logger.error("Product outbox relay failed at offset {}: {}", offset, e.getMessage(), e);
+                awaitSignal();
+            }
+        }
+    }
+    
+    private void dispatch(ProductChangeEvent event) {
+        for (ProductChangeListener listener : listeners) {
+            try {
+                listener.onProductChange(event);
+            } catch (RuntimeException e) {
+                logger.error("Product change listener failed for seq {}: {}", event.seq(), e.getMessage(), e);
+            }
+        }
+    }
+    
+    private ProductChangeEvent toEvent(ProductOutboxEvent row) {
+        ProductSnapshot snapshot = null;
+        if (row.getPayload() != null) {
+            try {
+                snapshot = objectMapper.readValue(row.getPayload(), ProductSnapshot.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Corrupt outbox payload at seq " + row.getSeq(), e);
+            }
+        }
+        return new ProductChangeEvent(row.getSeq(), row.getType(), row.getProductId(), snapshot, row.getCreatedAt());
+    }
+    
+    private void pruneIfDue() {
+        Instant now = Instant.now();
+        if (now.isBefore(lastPrune.plusSeconds(60))) {
+            return;
+        }
+        lastPrune = now;
+        int pruned = outboxRepository.deleteRelayedBefore(offset, now.minus(properties.retention()));
+        if (pruned > 0) {
+            logger.info("Pruned {} relayed product outbox rows", pruned);
+        }
+    }
+    
+    private void awaitSignal() {
+        lock.lock();
+        try {
+            if (!signalled && running) {
+                signal.await(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            signalled = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.WriteBehindProperties;
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductStockPriceUpdate;
+import com.acme.platform.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind pipeline for high-rate stock and price updates. Updates to the same
+ * product are coalesced while queued (last write wins per field) and flushed in batched
+ * transactions when {@code batch-size} products are pending or {@code flush-interval} elapses.
+ * The queue is bounded by distinct product ids; producers wait up to {@code offer-timeout}
+ * for room and are then rejected. The returned future completes once the update is committed.
+ * A batch whose transaction fails is retried product by product, so a conflict on one product
+ * fails only that product's updates.
+ */
+@Service
+@ConditionalOnProperty(prefix = "amg.write-behind", name = "enabled", havingValue = "true")
+public class ProductWriteBehindService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductWriteBehindService.class);
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindProperties properties;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushNeeded = lock.newCondition();
+    private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    public ProductWriteBehindService(ProductRepository productRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     WriteBehindProperties properties) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+    
+    public CompletableFuture<Void> submit(ProductStockPriceUpdate update) {
+        return submitAll(List.of(update)).get(0);
+    }
+    
+    /**
+     * Queues several updates, all or none: every update is validated and room is reserved for
+     * all of them before the first is queued, so a rejected request leaves nothing behind.
+     */
+    public List<CompletableFuture<Void>> submitAll(List<ProductStockPriceUpdate> updates) {
+        for (ProductStockPriceUpdate update : updates) {
+            if (update == null || update.id() == null) {
+                throw new IllegalArgumentException("Update must name a product id");
+            }
+            if (update.price() == null && update.stock() == null) {
+                throw new IllegalArgumentException("Update for product " + update.id() + " changes neither price nor stock");
+            }
+        }
+        Set<Long> ids = new HashSet<>();
+        updates.forEach(update -> ids.add(update.id()));
+        if (ids.size() > properties.capacity()) {
+            throw new WriteBehindQueueFullException(properties.capacity());
+        }
+        lock.lock();
+        try {
+            long remainingNanos = properties.offerTimeout().toNanos();
+            while (pending.size() + newIds(ids) > properties.capacity()) {
+                if (remainingNanos <= 0) {
+                    throw new WriteBehindQueueFullException(properties.capacity());
+                }
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+            List<CompletableFuture<Void>> acks = new ArrayList<>(updates.size());
+            for (ProductStockPriceUpdate update : updates) {
+                Pending entry = pending.get(update.id());
+                if (entry != null) {
+                    entry.merge(update);
+                } else {
+                    entry = new Pending(update);
+                    pending.put(update.id(), entry);
+                }
+                acks.add(entry.ack);
+            }
+            if (pending.size() >= properties.batchSize()) {
+                flushNeeded.signal();
+            }
+            return acks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindQueueFullException(properties.capacity());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private int newIds(Set<Long> ids) {
+        int count = 0;
+        for (Long id : ids) {
+            if (!pending.containsKey(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    int flushPending() {
+        Map<Long, Pending> batch = drain(properties.batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            Set<Long> missing = transactionTemplate.execute(status -> apply(batch));
+            batch.forEach((id, entry) -> acknowledge(id, entry, missing));
+            logger.debug("Write-behind flushed {} products", batch.size());
+        } catch (RuntimeException e) {
+            // One conflicting product must not fail the updates coalesced for all the others
+            logger.warn("Write-behind flush of {} products failed, applying them one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::flushSingle);
+        }
+        return batch.size();
+    }
+    
+    /**
+     * Applies one product's update in its own transaction. Updates set absolute values, so
+     * after an optimistic lock conflict they are simply applied again to the current row.
+     */
+    private void flushSingle(Long id, Pending entry) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Set<Long> missing = transactionTemplate.execute(status -> apply(Map.of(id, entry)));
+                acknowledge(id, entry, missing);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.error("Write-behind update of product {} still conflicted after {} attempts", id, attempt);
+                    entry.ack.completeExceptionally(e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Write-behind update of product {} failed: {}", id, e.getMessage(), e);
+                entry.ack.completeExceptionally(e);
+                return;
+            }
+        }
+    }
+    
+    private static void acknowledge(Long id, Pending entry, Set<Long> missing) {
+        if (missing != null && missing.contains(id)) {
+            entry.ack.completeExceptionally(new IllegalArgumentException("Product not found: " + id));
+        } else {
+            entry.ack.complete(null);
+        }
+    }
+    
+    private Set<Long> apply(Map<Long, Pending> batch) {
+        List<Product> products = productRepository.findAllById(batch.keySet());
+        Set<Long> missing = new HashSet<>(batch.keySet());
+        for (Product product : products) {
+            ProductStockPriceUpdate update = batch.get(product.getId()).update;
+            if (update.price() != null) {
+                product.setPrice(update.price());
+            }
+            if (update.stock() != null) {
+                product.setStock(update.stock());
+            }
+            missing.remove(product.getId());
+        }
+        productRepository.saveAll(products);
+        return missing;
+    }
+    
+    private Map<Long, Pending> drain(int max) {
+        lock.lock();
+        try {
+            Map<Long, Pending> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<Long, Pending>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < max) {
+                Map.Entry<Long, Pending> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            if (!batch.isEmpty()) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void run() {
+        while (running) {
+            awaitFlushTrigger();
+            flushPending();
+        }
+    }
+    
+    private void awaitFlushTrigger() {
+        lock.lock();
+        try {
+            if (running && pending.size() < properties.batchSize()) {
+                flushNeeded.await(properties.flushInterval().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "product-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Started product write-behind (capacity {}, batch size {}, flush interval {})",
+                properties.capacity(), properties.batchSize(), properties.flushInterval());
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            flushNeeded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        while (flushPending() > 0) {
+            logger.info("Flushing remaining write-behind updates before shutdown");
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private static final class Pending {
+        private final CompletableFuture<Void> ack = new CompletableFuture<>();
+        private ProductStockPriceUpdate update;
+        
+        private Pending(ProductStockPriceUpdate update) {
+            this.update = update;
+        }
+        
+        private void merge(ProductStockPriceUpdate newer) {
+            update = update.mergedWith(newer);
+        }
+    }
+}
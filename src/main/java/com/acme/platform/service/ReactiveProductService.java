@@ -1,40 +1,73 @@
 package com.acme.platform.service;
 
+import com.acme.platform.config.ReactiveProperties;
 import com.acme.platform.model.Product;
 import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.R2dbcProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads go through {@link R2dbcProductRepository} without occupying a thread per query; writes
+ * go through the JPA {@link ProductRepository} so they keep change tracking. Without an R2DBC
+ * repository (sharded storage) reads fall back to JPA as well. JPA calls run in the
+ * {@link ProductBulkheads} matching their workload, so lookups by id, scans and writes cannot
+ * exhaust each other's threads and connections.
+ * With a {@link ProductBatchLoader}, concurrent lookups by id share one query.
+ * Streams fetch keyset pages of {@code amg.reactive.page-size} rows as the subscriber asks for
+ * them, at most one page ahead, and stop fetching once the subscriber cancels.
+ */
 @Service
 public class ReactiveProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveProductService.class);
     
     private final ProductRepository productRepository;
+    private final R2dbcProductRepository r2dbcProductRepository;
+    private final ProductBatchLoader batchLoader;
+    private final ProductBulkheads bulkheads;
+    private final int pageSize;
     
-    public ReactiveProductService(ProductRepository productRepository) {
+    public ReactiveProductService(ProductRepository productRepository,
+                                  @Nullable R2dbcProductRepository r2dbcProductRepository,
+                                  @Nullable ProductBatchLoader batchLoader,
+                                  ProductBulkheads bulkheads,
+                                  ReactiveProperties properties) {
         this.productRepository = productRepository;
+        this.r2dbcProductRepository = r2dbcProductRepository;
+        this.batchLoader = batchLoader;
+        this.bulkheads = bulkheads;
+        this.pageSize = properties.pageSize();
     }
     
     public Mono<Product> findById(Long id) {
         logger.info("Reactive: Finding product by ID: {}", id);
-        return Mono.fromCallable(() -> productRepository.findById(id))
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(optional -> optional.map(Mono::just)
-                        .orElse(Mono.empty()))
+        Mono<Product> found = batchLoader != null ? batchLoader.load(id)
+                : r2dbcProductRepository != null ? r2dbcProductRepository.findById(id)
+                : bulkheads.pointReads().call(() -> productRepository.findById(id))
+                        .flatMap(optional -> optional.map(Mono::just)
+                                .orElse(Mono.empty()));
+        return found
                 .doOnNext(product -> logger.debug("Reactive: Found product: {}", product.getName()))
                 .doOnError(error -> logger.error("Reactive: Error finding product: {}", error.getMessage()));
     }
     
     public Flux<Product> findAll() {
         logger.info("Reactive: Finding all products");
-        return Mono.fromCallable(productRepository::findAll)
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(Flux::fromIterable)
+        Flux<Product> products = inPages(afterId -> r2dbcProductRepository != null
+                ? r2dbcProductRepository.findPageAfter(afterId, pageSize).collectList()
+                : bulkheads.scans().call(() -> productRepository.findByIdGreaterThan(afterId, firstPage())));
+        return products
                 .doOnNext(product -> logger.debug("Reactive: Streaming product: {}", product.getName()))
                 .doOnComplete(() -> logger.info("Reactive: Finished streaming all products"))
                 .doOnError(error -> logger.error("Reactive: Error finding all products: {}", error.getMessage()));
@@ -42,42 +75,52 @@ public class ReactiveProductService {
     
     public Flux<Product> findByName(String name) {
         logger.info("Reactive: Finding products by name: {}", name);
-        return Mono.fromCallable(() -> productRepository.findByNameContainingIgnoreCase(name))
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(Flux::fromIterable)
+        Flux<Product> products = inPages(afterId -> r2dbcProductRepository != null
+                ? r2dbcProductRepository.findPageByNameAfter(name, afterId, pageSize).collectList()
+                : bulkheads.scans().call(() -> productRepository.findByNameContainingIgnoreCaseAndIdGreaterThan(name, afterId,
+                        firstPage())));
+        return products
                 .doOnNext(product -> logger.debug("Reactive: Found product matching name: {}", product.getName()))
                 .doOnError(error -> logger.error("Reactive: Error finding products by name: {}", error.getMessage()));
     }
     
     public Mono<Product> save(Product product) {
         logger.info("Reactive: Saving product: {}", product.getName());
-        return Mono.fromCallable(() -> productRepository.save(product))
-                .subscribeOn(Schedulers.boundedElastic())
+        return bulkheads.writes().call(() -> productRepository.save(product))
                 .doOnNext(saved -> logger.info("Reactive: Product saved with ID: {}", saved.getId()))
                 .doOnError(error -> logger.error("Reactive: Error saving product: {}", error.getMessage()));
     }
     
     public Mono<Void> deleteById(Long id) {
         logger.info("Reactive: Deleting product by ID: {}", id);
-        return Mono.fromRunnable(() -> productRepository.deleteById(id))
-                .subscribeOn(Schedulers.boundedElastic())
-                .then()
+        return bulkheads.writes().run(() -> productRepository.deleteById(id))
                 .doOnSuccess(v -> logger.info("Reactive: Product deleted successfully: {}", id))
                 .doOnError(error -> logger.error("Reactive: Error deleting product: {}", error.getMessage()));
     }
     
     public Mono<Long> count() {
         logger.info("Reactive: Counting products");
-        return Mono.fromCallable(productRepository::count)
-                .subscribeOn(Schedulers.boundedElastic())
+        Mono<Long> total = r2dbcProductRepository != null
+                ? r2dbcProductRepository.count()
+                : bulkheads.scans().call(() -> productRepository.count());
+        return total
                 .doOnNext(count -> logger.debug("Reactive: Total products: {}", count))
                 .doOnError(error -> logger.error("Reactive: Error counting products: {}", error.getMessage()));
     }
     
-    public Flux<Product> streamAllWithDelay(java.time.Duration delay) {
-        logger.info("Reactive: Streaming all products with delay: {}", delay);
-        return findAll()
-                .delayElements(delay)
-                .doOnNext(product -> logger.debug("Reactive: Streaming product: {}", product.getName()));
+    /**
+     * Unrolls keyset pages in id order. A page is fetched only once the previous one has been
+     * taken downstream, so at most one page waits ahead of the subscriber; a short page ends it.
+     */
+    private Flux<Product> inPages(Function<Long, Mono<List<Product>>> fetchAfter) {
+        return fetchAfter.apply(0L)
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : fetchAfter.apply(page.get(page.size() - 1).getId()))
+                .concatMapIterable(page -> page, 1);
+    }
+    
+    private Pageable firstPage() {
+        return PageRequest.of(0, pageSize, Sort.by("id"));
     }
 }
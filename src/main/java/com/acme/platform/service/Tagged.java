@@ -0,0 +1,8 @@
+package com.acme.platform.service;
+
+/**
+ * A value cached together with its entity tag, so cache hits can answer conditional
+ * requests without re-hashing the payload.
+ */
+public record Tagged<T>(T value, String etag) {
+}
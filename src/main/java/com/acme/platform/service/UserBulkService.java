@@ -0,0 +1,379 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.UserBulkProperties;
+import com.acme.platform.journal.JournalRecord;
+import com.acme.platform.journal.MutationJournal;
+import com.acme.platform.journal.UserJournalListener;
+import com.acme.platform.model.User;
+import com.acme.platform.model.UserImportResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming bulk import and export of users. Imports are read line by line and written in
+ * JDBC batches of {@code batch-size}: emails are deduplicated in memory through the
+ * {@link EmailRegistry}, checked against the table with one query per batch, and inserted
+ * with one batched statement. Plain-text passwords of a batch are hashed in parallel on the
+ * hashing pool. Each batch commits on its own: a batch that still conflicts after a retry is
+ * reported as failed and the import goes on. Exports stream rows from a forward-only cursor straight to
+ * the response. Neither direction holds more than one batch in memory.
+ */
+@Service
+public class UserBulkService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkService.class);
+    private static final String INSERT_SQL =
+            "insert into users (name, email, email_normalized, address, password, version) values (?, ?, ?, ?, ?, 0)";
+    private static final String EXISTING_SQL =
+            "select email_normalized from users where email_normalized in (:emails)";
+    private static final String INSERTED_SQL =
+            "select id, name, email, address from users where email_normalized in (:emails)";
+    private static final String EXPORT_SQL = "select id, name, email, address from users order by id";
+    private static final List<String> CSV_COLUMNS = List.of("id", "name", "email", "address");
+    
+    public enum Format {
+        CSV(MediaType.parseMediaType("text/csv")),
+        NDJSON(MediaType.APPLICATION_NDJSON);
+        
+        private final MediaType mediaType;
+        
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+        
+        public MediaType mediaType() {
+            return mediaType;
+        }
+        
+        public static Format of(MediaType mediaType) {
+            for (Format format : values()) {
+                if (format.mediaType.isCompatibleWith(mediaType)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported bulk format: " + mediaType);
+        }
+        
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported bulk format: " + name);
+            }
+        }
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailRegistry emailRegistry;
+    private final PasswordHashingService passwordHashing;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MutationJournal> journal;
+    private final UserBulkProperties properties;
+    
+    public UserBulkService(JdbcTemplate jdbcTemplate,
+                           NamedParameterJdbcTemplate namedJdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           EmailRegistry emailRegistry,
+                           PasswordHashingService passwordHashing,
+                           Validator validator,
+                           ObjectMapper objectMapper,
+                           ObjectProvider<MutationJournal> journal,
+                           UserBulkProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailRegistry = emailRegistry;
+        this.passwordHashing = passwordHashing;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.journal = journal;
+        this.properties = properties;
+    }
+    
+    public UserImportResult importUsers(InputStream input, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportRun run = new ImportRun(properties.maxReportedErrors());
+        Map<String, Integer> columns = format == Format.CSV ? readHeader(reader) : Map.of();
+        List<Row> batch = new ArrayList<>(properties.batchSize());
+        
+        int lineNumber = format == Format.CSV ? 1 : 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            User user;
+            try {
+                user = format == Format.CSV ? fromCsv(line, columns) : objectMapper.readValue(line, User.class);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                run.invalid(lineNumber, null, "Unparseable record");
+                continue;
+            }
+            Set<ConstraintViolation<User>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<User> violation = violations.iterator().next();
+                run.invalid(lineNumber, user.getEmail(), violation.getPropertyPath() + ": " + violation.getMessage());
+                continue;
+            }
+            batch.add(new Row(lineNumber, user));
+            if (batch.size() >= properties.batchSize()) {
+                flush(batch, run);
+                batch.clear();
+            }
+        }
+        flush(batch, run);
+        
+        UserImportResult result = run.result();
+        logger.info("Imported {} users ({} duplicates, {} invalid, {} failed)", result.imported(), result.duplicates(),
+                result.invalid(), result.failed());
+        return result;
+    }
+    
+    public void exportUsers(OutputStream output, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.exportFetchSize());
+                return statement;
+            }, rs -> {
+                try {
+                    writeRow(writer, format, rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+    
+    private void flush(List<Row> batch, ImportRun run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Row> accepted = new ArrayList<>(batch.size());
+        List<String> reserved = new ArrayList<>(batch.size());
+        try {
+            for (Row row : batch) {
+                String email = row.user.getEmailNormalized();
+                if (emailRegistry.tryReserve(email)) {
+                    reserved.add(email);
+                    accepted.add(row);
+                } else {
+                    run.duplicate(row);
+                }
+            }
+            hashPasswords(accepted);
+            // A second attempt covers rows inserted by another node between the check and the insert
+            for (int attempt = 1; !accepted.isEmpty(); attempt++) {
+                Set<String> existing = existingEmails(accepted);
+                accepted.removeIf(row -> {
+                    if (existing.contains(row.user.getEmailNormalized())) {
+                        run.duplicate(row);
+                        return true;
+                    }
+                    return false;
+                });
+                try {
+                    insert(accepted);
+                    break;
+                } catch (DataIntegrityViolationException e) {
+                    if (attempt == 2) {
+                        // The batch was rolled back; earlier batches stay committed, so report it and go on
+                        logger.warn("Bulk import batch of {} users failed: {}", accepted.size(),
+                                e.getMostSpecificCause().getMessage());
+                        accepted.forEach(run::failed);
+                        accepted.clear();
+                    }
+                }
+            }
+            accepted.forEach(row -> emailRegistry.register(row.user.getEmailNormalized()));
+            run.imported(accepted.size());
+            journal(accepted);
+        } finally {
+            reserved.forEach(emailRegistry::release);
+        }
+    }
+    
+    private void hashPasswords(List<Row> rows) {
+        List<Row> plain = rows.stream().filter(row -> !PasswordHashingService.isHashed(row.user.getPassword())).toList();
+        List<String> hashes = passwordHashing.hashAll(plain.stream().map(row -> row.user.getPassword()).toList());
+        for (int i = 0; i < plain.size(); i++) {
+            plain.get(i).user.setPassword(hashes.get(i));
+        }
+    }
+    
+    private Set<String> existingEmails(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(EXISTING_SQL, Map.of("emails", emailsOf(rows)), String.class));
+    }
+    
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.user.getName());
+            ps.setString(2, row.user.getEmail());
+            ps.setString(3, row.user.getEmailNormalized());
+            ps.setString(4, row.user.getAddress());
+            ps.setString(5, row.user.getPassword());
+        }));
+    }
+    
+    private void journal(List<Row> rows) {
+        MutationJournal target = journal.getIfAvailable();
+        if (target == null || rows.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.query(INSERTED_SQL, Map.of("emails", emailsOf(rows)), rs -> {
+            User user = new User(rs.getString(2), rs.getString(3), rs.getString(4), null);
+            user.setId(rs.getLong(1));
+            user.setVersion(0L);
+            target.append(JournalRecord.EntityType.USER, JournalRecord.Operation.CREATE, user.getId(), 0L,
+                    UserJournalListener.payloadOf(user, objectMapper));
+        });
+    }
+    
+    private static List<String> emailsOf(List<Row> rows) {
+        return rows.stream().map(row -> row.user.getEmailNormalized()).toList();
+    }
+    
+    private static Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return Map.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = UserCsv.parseLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return columns;
+    }
+    
+    private static User fromCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = UserCsv.parseLine(line);
+        return new User(field(fields, columns, "name"), field(fields, columns, "email"),
+                field(fields, columns, "address"), field(fields, columns, "password"));
+    }
+    
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+    
+    private void writeRow(Writer writer, Format format, long id, String name, String email, String address) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(id + "," + UserCsv.escape(name) + "," + UserCsv.escape(email) + "," + UserCsv.escape(address));
+        } else {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("name", name);
+            row.put("email", email);
+            row.put("address", address);
+            writer.write(objectMapper.writeValueAsString(row));
+        }
+        writer.write('\n');
+    }
+    
+    private record Row(int line, User user) {
+    }
+    
+    private static final class ImportRun {
+        
+        private final int maxErrors;
+        private final List<UserImportResult.Error> errors = new ArrayList<>();
+        private int imported;
+        private int duplicates;
+        private int invalid;
+        private int failed;
+        
+        ImportRun(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+        
+        void imported(int count) {
+            imported += count;
+        }
+        
+        void duplicate(Row row) {
+            duplicates++;
+            report(row.line, row.user.getEmail(), "Duplicate email");
+        }
+        
+        void invalid(int line, String email, String reason) {
+            invalid++;
+            report(line, email, reason);
+        }
+        
+        void failed(Row row) {
+            failed++;
+            report(row.line, row.user.getEmail(), "Insert failed");
+        }
+        
+        private void report(int line, String email, String reason) {
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportResult.Error(line, email, reason));
+            }
+        }
+        
+        UserImportResult result() {
+            return new UserImportResult(imported, duplicates, invalid, failed, List.copyOf(errors));
+        }
+    }
+}
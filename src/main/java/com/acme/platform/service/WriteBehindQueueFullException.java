@@ -0,0 +1,8 @@
+package com.acme.platform.service;
+
+public class WriteBehindQueueFullException extends RuntimeException {
+    
+    public WriteBehindQueueFullException(int capacity) {
+        super("Write-behind queue is full (" + capacity + " pending products)");
+    }
+}
@@ -49,6 +49,22 @@ public class ProductSpecification {
         };
     }
 
+    public static Specification<Product> hasPriceInRange(BigDecimal minPrice, BigDecimal maxPriceExclusive) {
+        return (root, query, cb) -> {
+            if (minPrice == null && maxPriceExclusive == null) {
+                return cb.conjunction();
+            }
+            if (minPrice == null) {
+                return cb.lessThan(root.get("price"), maxPriceExclusive);
+            }
+            if (maxPriceExclusive == null) {
+                return cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(root.get("price"), minPrice),
+                    cb.lessThan(root.get("price"), maxPriceExclusive));
+        };
+    }
+
     public static Specification<Product> hasStockGreaterThan(Integer stock) {
         return (root, query, cb) -> {
             if (stock == null) {
@@ -19,7 +19,7 @@ public class UserSpecification {
             if (email == null || email.isEmpty()) {
                 return cb.conjunction();
             }
-            return cb.equal(cb.lower(root.get("email")), email.toLowerCase());
+            return cb.equal(root.get("emailNormalized"), User.normalizeEmail(email));
         };
     }
 
@@ -0,0 +1,53 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update). Databases created that way
+-- are baselined at this version instead of re-running it (spring.flyway.baseline-on-migrate).
+
+create table products (
+    id bigint generated by default as identity,
+    name varchar(100) not null,
+    description varchar(500),
+    price numeric(10,2) not null,
+    stock integer not null,
+    version bigint,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    change_seq bigint,
+    primary key (id)
+);
+
+create index idx_products_change_seq on products (change_seq);
+
+create table users (
+    id bigint generated by default as identity,
+    name varchar(50) not null,
+    email varchar(255) not null,
+    address varchar(100),
+    password varchar(100) not null,
+    version bigint,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table product_outbox (
+    seq bigint not null,
+    product_id bigint not null,
+    event_type varchar(16) not null,
+    payload varchar(2000),
+    created_at timestamp(6) with time zone not null,
+    primary key (seq)
+);
+
+create table product_tombstones (
+    product_id bigint not null,
+    change_seq bigint not null,
+    deleted_at timestamp(6) with time zone not null,
+    primary key (product_id)
+);
+
+create index idx_product_tombstones_change_seq on product_tombstones (change_seq);
+
+create table outbox_offsets (
+    consumer varchar(64) not null,
+    last_seq bigint not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (consumer)
+);
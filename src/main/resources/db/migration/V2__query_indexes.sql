@@ -0,0 +1,14 @@
+-- ProductSpecification.hasPriceBetween / hasPriceGreaterThan / hasPriceLessThan
+create index idx_products_price on products (price);
+
+-- ProductSpecification.isInStock / isOutOfStock / hasStockGreaterThan / hasStockLessThan
+create index idx_products_stock on products (stock);
+
+-- Exact and prefix name lookups and ordering by name; substring searches still scan
+create index idx_products_name on products (name);
+
+-- H2 has no expression indexes, so lower(email) is materialized as a generated column
+-- and indexed; UserSpecification.hasEmail filters on it
+alter table users add column email_lower varchar(255) generated always as (lower(email));
+
+create index idx_users_email_lower on users (email_lower);
@@ -0,0 +1,14 @@
+-- Case-insensitive email uniqueness. email_normalized (trimmed, lower-cased) is written by the
+-- application and is the natural id behind UserRepository.findByEmail; it replaces the
+-- generated email_lower column. Rows whose emails differ only by case must be merged first.
+drop index idx_users_email_lower;
+
+alter table users drop column email_lower;
+
+alter table users add column email_normalized varchar(255);
+
+update users set email_normalized = lower(trim(email));
+
+alter table users alter column email_normalized set not null;
+
+create unique index uk_users_email_normalized on users (email_normalized);
@@ -0,0 +1,42 @@
+package com.acme.platform;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentProfileTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void persistentProfile_shouldKeepProductsAcrossRestart() {
+        Long id;
+        try (ConfigurableApplicationContext context = start()) {
+            Product product = new Product("Laptop", "Gaming laptop", new BigDecimal("999.99"), 10);
+            id = context.getBean(ProductRepository.class).save(product).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            Product reloaded = context.getBean(ProductRepository.class).findById(id).orElseThrow();
+            assertEquals("Laptop", reloaded.getName());
+            assertEquals(10, reloaded.getStock());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .run("--amg.h2.data-dir=" + dataDir);
+    }
+}
@@ -0,0 +1,43 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.InventoryDashboard;
+import com.acme.platform.service.InventoryDashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DashboardController.class)
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InventoryDashboardService inventoryDashboardService;
+
+    @Test
+    void getInventory_shouldReturnDashboardWithDegradedSections() throws Exception {
+        InventoryDashboard dashboard = new InventoryDashboard(null, 12L, 9L, 3L,
+                List.of(new InventoryDashboard.PriceRange(null, new BigDecimal("10"), 4L),
+                        new InventoryDashboard.PriceRange(new BigDecimal("10"), null, 8L)),
+                List.of("totalValue"));
+        when(inventoryDashboardService.inventory()).thenReturn(dashboard);
+
+        mockMvc.perform(get("/api/dashboard/inventory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(12))
+                .andExpect(jsonPath("$.totalValue").doesNotExist())
+                .andExpect(jsonPath("$.priceRanges.length()").value(2))
+                .andExpect(jsonPath("$.priceRanges[1].min").value(10))
+                .andExpect(jsonPath("$.degraded[0]").value("totalValue"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.User;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.acme.platform.api.StatementRecorder")
+@AutoConfigureMockMvc
+class MutationRoundTripTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void deleteProduct_whenCached_shouldIssueSingleDeleteWithoutSelect() throws Exception {
+        Product product = productRepository.save(new Product("Round Trip", "Delete me", new BigDecimal("5.00"), 1));
+        productRepository.findById(product.getId());
+
+        StatementRecorder.start();
+        mockMvc.perform(delete("/api/products/" + product.getId()))
+                .andExpect(status().isNoContent());
+        List<String> statements = StatementRecorder.stop();
+
+        assertEquals(0, StatementRecorder.count(statements, "select"), statements::toString);
+        assertEquals(1, StatementRecorder.count(statements, "delete from products"), statements::toString);
+        assertTrue(productRepository.findById(product.getId()).isEmpty());
+    }
+
+    @Test
+    void deleteUser_whenCached_shouldIssueOnlyOneStatement() throws Exception {
+        User user = userRepository.save(new User("Delete Me", "roundtrip-delete@example.com", "Street 1", "secret123"));
+        userRepository.findById(user.getId());
+
+        StatementRecorder.start();
+        mockMvc.perform(delete("/api/users/" + user.getId()))
+                .andExpect(status().isNoContent());
+        List<String> statements = StatementRecorder.stop();
+
+        assertEquals(1, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("delete from users"), statements::toString);
+    }
+
+    @Test
+    void updateUser_whenCached_shouldIssueOnlyOneStatement() throws Exception {
+        User user = userRepository.save(new User("Update Me", "roundtrip-update@example.com", "Street 1", "secret123"));
+        userRepository.findById(user.getId());
+
+        StatementRecorder.start();
+        mockMvc.perform(put("/api/users/" + user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Updated Name", "roundtrip-update@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated Name"));
+        List<String> statements = StatementRecorder.stop();
+
+        assertEquals(1, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("update users"), statements::toString);
+    }
+
+    @Test
+    void updateUser_whenEmailTaken_shouldReturn409() throws Exception {
+        userRepository.save(new User("Taken", "roundtrip-taken@example.com", "Street 1", "secret123"));
+        User user = userRepository.save(new User("Mover", "roundtrip-mover@example.com", "Street 2", "secret123"));
+
+        mockMvc.perform(put("/api/users/" + user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Mover", "roundtrip-taken@example.com")))
+                .andExpect(status().isConflict());
+
+        assertEquals("roundtrip-mover@example.com", userRepository.findById(user.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void createUser_whenEmailTaken_shouldReturn409WithoutStatements() throws Exception {
+        userRepository.save(new User("Original", "roundtrip-create@example.com", "Street 1", "secret123"));
+
+        StatementRecorder.start();
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Duplicate", "Roundtrip-Create@Example.com")))
+                .andExpect(status().isConflict());
+        List<String> statements = StatementRecorder.stop();
+
+        assertEquals(List.of(), statements);
+    }
+
+    @Test
+    void createUser_whenEmailNew_shouldIssueOnlyInsert() throws Exception {
+        StatementRecorder.start();
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Newcomer", "roundtrip-new@example.com")))
+                .andExpect(status().isCreated());
+        List<String> statements = StatementRecorder.stop();
+
+        assertEquals(1, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("insert into users"), statements::toString);
+    }
+
+    private static String userJson(String name, String email) {
+        return """
+                {"name":"%s","email":"%s","address":"Street 9","password":"secret123"}
+                """.formatted(name, email);
+    }
+}
@@ -1,7 +1,9 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.service.ETags;
 import com.acme.platform.service.ProductCacheService;
+import com.acme.platform.service.Tagged;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,14 +42,29 @@ class ProductCacheControllerTest {
         product2.setId(2L);
         List<Product> products = Arrays.asList(product1, product2);
 
-        when(productCacheService.findAll()).thenReturn(products);
+        when(productCacheService.findAllTagged()).thenReturn(new Tagged<>(products, ETags.ofProducts(products)));
 
         mockMvc.perform(get("/api/cache/products"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + ETags.ofProducts(products) + "\""))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2));
 
-        verify(productCacheService).findAll();
+        verify(productCacheService).findAllTagged();
+    }
+
+    @Test
+    void getAllProducts_whenETagMatches_shouldReturn304() throws Exception {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        List<Product> products = Arrays.asList(product);
+        String etag = ETags.ofProducts(products);
+
+        when(productCacheService.findAllTagged()).thenReturn(new Tagged<>(products, etag));
+
+        mockMvc.perform(get("/api/cache/products").header("If-None-Match", "\"" + etag + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -81,14 +98,14 @@ class ProductCacheControllerTest {
         product.setId(1L);
         List<Product> products = Arrays.asList(product);
 
-        when(productCacheService.findByName("laptop")).thenReturn(products);
+        when(productCacheService.findByNameTagged("laptop")).thenReturn(new Tagged<>(products, ETags.ofProducts(products)));
 
         mockMvc.perform(get("/api/cache/products/search?name=laptop"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(1));
 
-        verify(productCacheService).findByName("laptop");
+        verify(productCacheService).findByNameTagged("laptop");
     }
 
     @Test
@@ -0,0 +1,57 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChange;
+import com.acme.platform.model.ProductChangeSet;
+import com.acme.platform.service.ProductChangeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductChangeController.class)
+class ProductChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductChangeService productChangeService;
+
+    @Test
+    void getChanges_shouldReturnChangesAndNextToken() throws Exception {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        product.setChangeSeq(8L);
+        ProductChangeSet changes = new ProductChangeSet(List.of(ProductChange.upsert(product)), "8", false);
+
+        when(productChangeService.changesSince("5", 100)).thenReturn(changes);
+
+        mockMvc.perform(get("/api/products/changes?since=5&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].type").value("UPSERT"))
+                .andExpect(jsonPath("$.changes[0].product.name").value("Laptop"))
+                .andExpect(jsonPath("$.nextToken").value("8"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        verify(productChangeService).changesSince("5", 100);
+    }
+
+    @Test
+    void getChanges_withInvalidToken_shouldReturn400() throws Exception {
+        when(productChangeService.changesSince("abc", 500)).thenThrow(new IllegalArgumentException("Invalid change token: abc"));
+
+        mockMvc.perform(get("/api/products/changes?since=abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid argument"));
+    }
+}
@@ -1,7 +1,11 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductBatchGetResult;
+import com.acme.platform.model.ProductBatchOperation;
+import com.acme.platform.model.ProductBatchResult;
 import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.service.ProductBatchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +33,9 @@ class ProductControllerTest {
     @MockBean
     private ProductRepository productRepository;
 
+    @MockBean
+    private ProductBatchService productBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -86,6 +93,34 @@ class ProductControllerTest {
         verify(productRepository).findById(1L);
     }
 
+    @Test
+    void getProductById_whenETagMatches_shouldReturn304() throws Exception {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        product.setVersion(3L);
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"product-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"product-1-3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getProductById_whenVersionChanged_shouldReturnProduct() throws Exception {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        product.setVersion(4L);
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"product-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"product-1-4\""))
+                .andExpect(jsonPath("$.name").value("Laptop"));
+    }
+
     @Test
     void getProductById_whenProductNotExists_shouldReturn404() throws Exception {
         when(productRepository.findById(1L)).thenReturn(Optional.empty());
@@ -149,24 +184,56 @@ class ProductControllerTest {
 
     @Test
     void deleteProduct_whenProductExists_shouldDeleteProduct() throws Exception {
-        when(productRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(productRepository).deleteById(1L);
+        when(productRepository.removeById(1L)).thenReturn(1);
 
         mockMvc.perform(delete("/api/products/1"))
                 .andExpect(status().isNoContent());
 
-        verify(productRepository).existsById(1L);
-        verify(productRepository).deleteById(1L);
+        verify(productRepository).removeById(1L);
+        verify(productRepository, never()).existsById(anyLong());
     }
 
     @Test
     void deleteProduct_whenProductNotExists_shouldReturn404() throws Exception {
-        when(productRepository.existsById(1L)).thenReturn(false);
+        when(productRepository.removeById(1L)).thenReturn(0);
 
         mockMvc.perform(delete("/api/products/1"))
                 .andExpect(status().isNotFound());
 
-        verify(productRepository).existsById(1L);
-        verify(productRepository, never()).deleteById(anyLong());
+        verify(productRepository).removeById(1L);
+    }
+
+    @Test
+    void getProductsByIds_shouldReturnProductsAndMissingIds() throws Exception {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+
+        when(productBatchService.findAllById(List.of(1L, 9L))).thenReturn(new ProductBatchGetResult(List.of(product), List.of(9L)));
+
+        mockMvc.perform(post("/api/products/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,9]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
+    @Test
+    void applyBatch_shouldReturnPerItemStatus() throws Exception {
+        List<ProductBatchOperation> operations = List.of(
+                new ProductBatchOperation(ProductBatchOperation.Type.DELETE, 1L, null),
+                new ProductBatchOperation(ProductBatchOperation.Type.DELETE, 2L, null));
+
+        when(productBatchService.apply(operations)).thenReturn(new ProductBatchResult(List.of(
+                new ProductBatchResult.Item(0, 1L, 204, null),
+                new ProductBatchResult.Item(1, 2L, 404, "Product not found: 2"))));
+
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(204))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].error").value("Product not found: 2"));
     }
 }
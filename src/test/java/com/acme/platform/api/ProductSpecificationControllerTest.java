@@ -1,6 +1,7 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.service.ETags;
 import com.acme.platform.service.ProductSpecificationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -110,4 +111,22 @@ class ProductSpecificationControllerTest {
 
         verify(productSpecificationService).findProductsByDescription("high-performance");
     }
+
+    @Test
+    void getInStockProducts_whenETagMatches_shouldReturn304() throws Exception {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        product.setVersion(2L);
+        List<Product> products = List.of(product);
+        String etag = "\"" + ETags.ofProducts(products) + "\"";
+
+        when(productSpecificationService.findInStockProducts()).thenReturn(products);
+
+        mockMvc.perform(get("/api/spec/products/in-stock"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/spec/products/in-stock").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
 }
@@ -0,0 +1,90 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.ProductStockPriceUpdate;
+import com.acme.platform.service.ProductWriteBehindService;
+import com.acme.platform.service.WriteBehindQueueFullException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ProductWriteBehindController.class, properties = "amg.write-behind.enabled=true")
+class ProductWriteBehindControllerTest {
+
+    private static final String UPDATES = "[{\"id\":1,\"stock\":5},{\"id\":2,\"price\":19.99}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductWriteBehindService writeBehindService;
+
+    @Test
+    void submitUpdates_shouldAcceptUpdates() throws Exception {
+        when(writeBehindService.submitAll(anyList())).thenReturn(List.of(new CompletableFuture<>(), new CompletableFuture<>()));
+
+        MvcResult result = mockMvc.perform(post("/api/products/updates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATES))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(2));
+
+        verify(writeBehindService).submitAll(List.of(
+                new ProductStockPriceUpdate(1L, null, 5),
+                new ProductStockPriceUpdate(2L, new BigDecimal("19.99"), null)));
+    }
+
+    @Test
+    void submitUpdates_durable_shouldWaitForCommit() throws Exception {
+        when(writeBehindService.submitAll(anyList()))
+                .thenReturn(List.of(CompletableFuture.completedFuture(null), CompletableFuture.completedFuture(null)));
+
+        MvcResult result = mockMvc.perform(post("/api/products/updates?durable=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATES))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(2));
+    }
+
+    @Test
+    void submitUpdates_whenQueueFull_shouldReturn503() throws Exception {
+        when(writeBehindService.submitAll(anyList())).thenThrow(new WriteBehindQueueFullException(10));
+
+        mockMvc.perform(post("/api/products/updates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATES))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void submitUpdates_withInvalidItem_shouldReturn400WithoutQueueing() throws Exception {
+        mockMvc.perform(post("/api/products/updates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":1,\"stock\":5},{\"id\":2,\"stock\":-1}]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(writeBehindService);
+    }
+}
@@ -0,0 +1,58 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"amg.batch-loader.enabled=true", "amg.batch-loader.window=500ms"})
+@AutoConfigureMockMvc
+class ReactiveProductBatchLoaderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void concurrentGetAndPut_shouldNotShareTheLoadedProduct() throws Exception {
+        Product product = productRepository.save(new Product("Loader Before", "Shared", new BigDecimal("5.00"), 1));
+        String uri = "/api/reactive/products/" + product.getId();
+
+        CompletableFuture<MvcResult> put = CompletableFuture.supplyAsync(() -> start(put(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Loader After\",\"description\":\"Changed\",\"price\":6.00,\"stock\":2}")));
+        CompletableFuture<MvcResult> get = CompletableFuture.supplyAsync(() -> start(get(uri)));
+
+        mockMvc.perform(asyncDispatch(put.join()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Loader After"));
+        mockMvc.perform(asyncDispatch(get.join()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Loader Before"))
+                .andExpect(jsonPath("$.version").value(product.getVersion()));
+        assertEquals("Loader After", productRepository.findById(product.getId()).orElseThrow().getName());
+    }
+
+    private MvcResult start(RequestBuilder builder) {
+        try {
+            return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
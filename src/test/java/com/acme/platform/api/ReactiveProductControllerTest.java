@@ -1,6 +1,8 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChange;
+import com.acme.platform.service.ProductChangeFeed;
 import com.acme.platform.service.ReactiveProductService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ class ReactiveProductControllerTest {
     @MockBean
     private ReactiveProductService reactiveProductService;
 
+    @MockBean
+    private ProductChangeFeed productChangeFeed;
+
     @Test
     void getAllProducts_shouldReturnAllProducts() {
         Product product1 = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
@@ -63,6 +68,23 @@ class ReactiveProductControllerTest {
         verify(reactiveProductService).findById(1L);
     }
 
+    @Test
+    void getProductById_whenETagMatches_shouldReturn304() {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        product.setVersion(3L);
+
+        when(reactiveProductService.findById(1L)).thenReturn(Mono.just(product));
+
+        webTestClient.get()
+                .uri("/api/reactive/products/1")
+                .accept(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", "\"product-1-3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     @Test
     void getProductById_whenProductNotExists_shouldReturn404() {
         when(reactiveProductService.findById(1L)).thenReturn(Mono.empty());
@@ -200,15 +222,18 @@ class ReactiveProductControllerTest {
         Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
         product.setId(1L);
 
-        when(reactiveProductService.streamAllWithDelay(any(java.time.Duration.class))).thenReturn(Flux.just(product));
+        product.setChangeSeq(3L);
+
+        when(productChangeFeed.stream()).thenReturn(Flux.just(ProductChange.upsert(product)));
 
         webTestClient.get()
-                .uri("/api/reactive/products/stream?delaySeconds=1")
+                .uri("/api/reactive/products/stream")
                 .accept(MediaType.TEXT_EVENT_STREAM)
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().valueMatches("Content-Type", ".*text/event-stream.*");
 
-        verify(reactiveProductService).streamAllWithDelay(any(java.time.Duration.class));
+        verify(productChangeFeed).stream();
+        verifyNoInteractions(reactiveProductService);
     }
 }
@@ -0,0 +1,39 @@
+package com.acme.platform.api;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records the SQL prepared on the calling thread between {@link #start()} and {@link #stop()},
+ * so background work such as the outbox relay does not leak into the counts.
+ */
+public class StatementRecorder implements StatementInspector {
+    
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+    
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+    
+    public static List<String> stop() {
+        List<String> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements;
+    }
+    
+    public static long count(List<String> statements, String prefix) {
+        return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql.trim().toLowerCase(Locale.ROOT));
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,88 @@
+package com.acme.platform.api;
+
+import com.acme.platform.model.User;
+import com.acme.platform.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "amg.user-bulk.batch-size=2")
+@AutoConfigureMockMvc
+class UserBulkImportExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void importCsv_shouldInsertNewUsersAndReportDuplicatesAndInvalidRows() throws Exception {
+        userRepository.save(new User("Existing", "bulk-existing@example.com", "Street 1", "secret123"));
+        String csv = """
+                name,email,address,password
+                Alice,bulk-alice@example.com,"1 Main St, Springfield",secret123
+                Bob,bulk-bob@example.com,,secret123
+                Alice Again,Bulk-Alice@Example.com,,secret123
+                Existing Copy,bulk-existing@example.com,,secret123
+                X,not-an-email,,secret123
+                """;
+
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.errors[?(@.line == 4)].reason").value("Duplicate email"));
+
+        User alice = userRepository.findByEmail("BULK-ALICE@example.com").orElseThrow();
+        assertEquals("1 Main St, Springfield", alice.getAddress());
+        assertTrue(alice.getPassword().startsWith("$2"));
+    }
+
+    @Test
+    void importNdjson_thenExport_shouldStreamImportedUsers() throws Exception {
+        String ndjson = """
+                {"name":"Carol","email":"bulk-carol@example.com","address":"Street 3","password":"secret123"}
+                {"name":"Dave","email":"bulk-dave@example.com","password":"secret123"}
+                {"name":"Broken"
+                """;
+
+        mockMvc.perform(post("/api/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.invalid").value(1));
+
+        MvcResult export = mockMvc.perform(get("/api/users/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.startsWith("id,name,email,address\n"));
+        assertTrue(body.contains(",Carol,bulk-carol@example.com,Street 3\n"));
+        assertTrue(body.contains(",Dave,bulk-dave@example.com,\n"));
+        assertFalse(body.contains("secret123"));
+    }
+
+    @Test
+    void export_whenFormatUnknown_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,20 +1,28 @@
 package com.acme.platform.api;
 
+import com.acme.platform.model.LoginRequest;
 import com.acme.platform.model.User;
 import com.acme.platform.repository.UserRepository;
+import com.acme.platform.service.EmailRegistry;
+import com.acme.platform.service.PasswordHashingBusyException;
+import com.acme.platform.service.PasswordHashingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +36,12 @@ class UserControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private EmailRegistry emailRegistry;
+
+    @MockBean
+    private PasswordHashingService passwordHashing;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -68,6 +82,19 @@ class UserControllerTest {
         verify(userRepository).findById(1L);
     }
 
+    @Test
+    void getUserById_whenETagMatches_shouldReturn304() throws Exception {
+        User user = new User("John Doe", "john@example.com", "123 Main St", "password123");
+        user.setId(1L);
+        user.setVersion(2L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"user-1-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getUserById_whenUserNotExists_shouldReturn404() throws Exception {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
@@ -84,7 +111,8 @@ class UserControllerTest {
         User savedUser = new User("John Doe", "john@example.com", "123 Main St", "password123");
         savedUser.setId(1L);
 
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.empty());
+        when(emailRegistry.tryReserve("john@example.com")).thenReturn(true);
+        when(passwordHashing.hash("password123")).thenReturn("$2a$10$hashed");
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
 
         mockMvc.perform(post("/api/users")
@@ -94,102 +122,194 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("John Doe"));
 
-        verify(userRepository).findByEmail("john@example.com");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).save(argThat(user -> "$2a$10$hashed".equals(user.getPassword())));
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(emailRegistry).release("john@example.com");
     }
 
     @Test
-    void createUser_whenEmailExists_shouldReturn409() throws Exception {
+    void createUser_whenHashingSaturated_shouldReturn503AndReleaseEmail() throws Exception {
         User newUser = new User("John Doe", "john@example.com", "123 Main St", "password123");
-        User existingUser = new User("Existing User", "john@example.com", "Address", "password123");
-        existingUser.setId(1L);
 
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(existingUser));
+        when(emailRegistry.tryReserve("john@example.com")).thenReturn(true);
+        when(passwordHashing.hash("password123")).thenThrow(new PasswordHashingBusyException(64));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newUser)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(emailRegistry).release("john@example.com");
+    }
+
+    @Test
+    void createUser_whenEmailRegistered_shouldReturn409WithoutSaving() throws Exception {
+        User newUser = new User("John Doe", "John@Example.com", "123 Main St", "password123");
+
+        when(emailRegistry.tryReserve("john@example.com")).thenReturn(false);
 
         mockMvc.perform(post("/api/users")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newUser)))
                 .andExpect(status().isConflict());
 
-        verify(userRepository).findByEmail("john@example.com");
         verify(userRepository, never()).save(any(User.class));
+        verify(emailRegistry, never()).release(anyString());
+    }
+
+    @Test
+    void createUser_whenEmailExists_shouldReturn409() throws Exception {
+        User newUser = new User("John Doe", "john@example.com", "123 Main St", "password123");
+
+        when(emailRegistry.tryReserve("john@example.com")).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newUser)))
+                .andExpect(status().isConflict());
+
+        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(emailRegistry).release("john@example.com");
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void updateUser_whenUserExists_shouldUpdateUser() throws Exception {
         User existingUser = new User("John Doe", "john@example.com", "123 Main St", "password123");
         existingUser.setId(1L);
         User updatedData = new User("John Updated", "john@example.com", "456 New St", "password123");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenReturn(existingUser);
+        when(userRepository.updateById(eq(1L), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<User> changes = invocation.getArgument(1);
+            changes.accept(existingUser);
+            return Optional.of(existingUser);
+        });
 
         mockMvc.perform(put("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedData)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Updated"))
+                .andExpect(jsonPath("$.address").value("456 New St"));
 
-        verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).updateById(eq(1L), any(Consumer.class));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void updateUser_whenUserNotExists_shouldReturn404() throws Exception {
         User updatedData = new User("John Updated", "john@example.com", "456 New St", "password123");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.updateById(eq(1L), any(Consumer.class))).thenReturn(Optional.empty());
 
         mockMvc.perform(put("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedData)))
                 .andExpect(status().isNotFound());
 
-        verify(userRepository).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).updateById(eq(1L), any(Consumer.class));
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void updateUser_whenEmailConflict_shouldReturn409() throws Exception {
-        User existingUser = new User("John Doe", "john@example.com", "123 Main St", "password123");
-        existingUser.setId(1L);
-        User otherUser = new User("Other User", "other@example.com", "Address", "password123");
-        otherUser.setId(2L);
         User updatedData = new User("John Updated", "other@example.com", "456 New St", "password123");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findByEmail("other@example.com")).thenReturn(Optional.of(otherUser));
+        when(userRepository.updateById(eq(1L), any(Consumer.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate email"));
 
         mockMvc.perform(put("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedData)))
                 .andExpect(status().isConflict());
 
-        verify(userRepository).findById(1L);
-        verify(userRepository).findByEmail("other@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).updateById(eq(1L), any(Consumer.class));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void login_whenPasswordMatches_shouldReturnUser() throws Exception {
+        User user = new User("John Doe", "john@example.com", "123 Main St", "$2a$12$stored");
+        user.setId(1L);
+
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashing.matches("password123", "$2a$12$stored")).thenReturn(true);
+        when(passwordHashing.needsRehash("$2a$12$stored")).thenReturn(false);
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("john@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(passwordHashing, never()).hash(anyString());
+        verify(userRepository, never()).updateById(anyLong(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void login_whenCostChanged_shouldRehashPassword() throws Exception {
+        User user = new User("John Doe", "john@example.com", "123 Main St", "$2a$10$stored");
+        user.setId(1L);
+
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashing.matches("password123", "$2a$10$stored")).thenReturn(true);
+        when(passwordHashing.needsRehash("$2a$10$stored")).thenReturn(true);
+        when(passwordHashing.hash("password123")).thenReturn("$2a$12$rehashed");
+        when(userRepository.updateById(eq(1L), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<User> changes = invocation.getArgument(1);
+            changes.accept(user);
+            return Optional.of(user);
+        });
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("john@example.com", "password123"))))
+                .andExpect(status().isOk());
+
+        assertEquals("$2a$12$rehashed", user.getPassword());
+    }
+
+    @Test
+    void login_whenPasswordWrong_shouldReturn401() throws Exception {
+        User user = new User("John Doe", "john@example.com", "123 Main St", "$2a$12$stored");
+        user.setId(1L);
+
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashing.matches("wrong-password", "$2a$12$stored")).thenReturn(false);
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("john@example.com", "wrong-password"))))
+                .andExpect(status().isUnauthorized());
+
+        verify(userRepository, never()).updateById(anyLong(), any());
     }
 
     @Test
     void deleteUser_whenUserExists_shouldDeleteUser() throws Exception {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        when(userRepository.removeById(1L)).thenReturn(1);
 
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isNoContent());
 
-        verify(userRepository).existsById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).removeById(1L);
+        verify(userRepository, never()).existsById(anyLong());
     }
 
     @Test
     void deleteUser_whenUserNotExists_shouldReturn404() throws Exception {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.removeById(1L)).thenReturn(0);
 
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isNotFound());
 
-        verify(userRepository).existsById(1L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository).removeById(1L);
     }
 }
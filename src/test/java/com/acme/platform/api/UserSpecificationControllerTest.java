@@ -1,6 +1,7 @@
 package com.acme.platform.api;
 
 import com.acme.platform.model.User;
+import com.acme.platform.service.ETags;
 import com.acme.platform.service.UserSpecificationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -73,4 +74,19 @@ class UserSpecificationControllerTest {
 
         verify(userSpecificationService).findUsersWithoutAddress();
     }
+
+    @Test
+    void getUsersWithAddress_whenETagMatches_shouldReturn304() throws Exception {
+        User user = new User("John Doe", "john@example.com", "123 Main St", "password123");
+        user.setId(1L);
+        user.setVersion(0L);
+        List<User> users = List.of(user);
+        String etag = "\"" + ETags.ofUsers(users) + "\"";
+
+        when(userSpecificationService.findUsersWithAddress()).thenReturn(users);
+
+        mockMvc.perform(get("/api/spec/users/with-address").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
 }
@@ -0,0 +1,99 @@
+package com.acme.platform.concurrency;
+
+import com.acme.platform.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10), meterRegistry, clock::get);
+
+    @Test
+    void tryAcquire_shouldShedLowerPrioritiesFirst() {
+        List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            held.add(limiter.tryAcquire(RequestPriority.BULK));
+        }
+
+        assertNull(limiter.tryAcquire(RequestPriority.BULK));
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(limiter.tryAcquire(RequestPriority.READ));
+        }
+        assertNull(limiter.tryAcquire(RequestPriority.READ));
+        assertNotNull(limiter.tryAcquire(RequestPriority.WRITE));
+        assertNotNull(limiter.tryAcquire(RequestPriority.WRITE));
+        assertNull(limiter.tryAcquire(RequestPriority.WRITE));
+        assertNotNull(limiter.tryAcquire(RequestPriority.CRITICAL));
+
+        assertEquals(11, limiter.inFlight());
+        assertEquals(1.0, meterRegistry.counter("amg.concurrency.shed", "priority", "bulk").count());
+        assertEquals(1.0, meterRegistry.counter("amg.concurrency.shed", "priority", "read").count());
+        assertEquals(1.0, meterRegistry.counter("amg.concurrency.shed", "priority", "write").count());
+        assertEquals(11.0, meterRegistry.get("amg.concurrency.in-flight").gauge().value());
+
+        held.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        held.get(0).release();
+        assertEquals(6, limiter.inFlight());
+    }
+
+    @Test
+    void release_whenLatencyRises_shouldLowerLimit() {
+        for (int i = 0; i < 5; i++) {
+            fullWindow(Duration.ofMillis(10));
+        }
+        int settled = limiter.limit();
+        assertTrue(settled > 10, "limit should grow while latency is flat, was " + settled);
+
+        for (int i = 0; i < 5; i++) {
+            fullWindow(Duration.ofMillis(100));
+        }
+
+        assertTrue(limiter.limit() < settled, "limit should shrink as latency rises, was " + limiter.limit());
+        assertEquals(limiter.limit(), meterRegistry.get("amg.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void release_whenLimitIsMostlyUnused_shouldNotGrowLimit() {
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 4; j++) {
+                AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(RequestPriority.READ);
+                clock.addAndGet(Duration.ofMillis(10).toNanos());
+                permit.release();
+            }
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    /**
+     * Keeps the limiter at its limit for one window with every request taking {@code rtt}.
+     */
+    private void fullWindow(Duration rtt) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire(RequestPriority.WRITE)) != null) {
+            permits.add(permit);
+        }
+        clock.addAndGet(rtt.toNanos());
+        Collections.reverse(permits);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+    }
+
+    private static ConcurrencyLimitProperties properties(int initialLimit) {
+        return new ConcurrencyLimitProperties(true, initialLimit, 2, 100, Duration.ofMillis(10), 4, 1.5, 0.5,
+                0.8, 0.5, Duration.ofSeconds(1), List.of("/healthz"), List.of("GET /api/products"),
+                List.of("/api/reactive/products/stream/**"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.acme.platform.concurrency;
+
+import com.acme.platform.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, 2, 1, 100,
+            Duration.ofSeconds(1), 20, 1.5, 0.2, 1.0, 0.5, Duration.ofSeconds(2),
+            List.of("/healthz"), List.of("GET /api/products"), List.of("/api/reactive/products/stream/**"));
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new RequestClassifier(properties),
+            properties.retryAfter());
+
+    @Test
+    void doFilter_whenLimitReached_shouldShedWith503AndRetryAfter() throws Exception {
+        limiter.tryAcquire(RequestPriority.WRITE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Service unavailable"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_whenLimitReached_shouldStillServeHigherPriorities() throws Exception {
+        limiter.tryAcquire(RequestPriority.WRITE);
+
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/1"), read, new MockFilterChain());
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/healthz"), health, new MockFilterChain());
+
+        assertEquals(200, read.getStatus());
+        assertEquals(200, health.getStatus());
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    void doFilter_whenRequestGoesAsync_shouldHoldSlotUntilComplete() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.setAsyncSupported(true);
+        FilterChain startsAsync = (req, res) -> req.startAsync();
+
+        filter.doFilter(request, new MockHttpServletResponse(), startsAsync);
+
+        assertEquals(1, limiter.inFlight());
+        request.getAsyncContext().complete();
+        assertEquals(0, limiter.inFlight());
+    }
+}
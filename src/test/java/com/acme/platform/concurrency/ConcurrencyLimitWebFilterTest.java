@@ -0,0 +1,64 @@
+package com.acme.platform.concurrency;
+
+import com.acme.platform.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitWebFilterTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, 2, 1, 100,
+            Duration.ofSeconds(1), 20, 1.5, 0.2, 1.0, 0.5, Duration.ofSeconds(1),
+            List.of("/healthz"), List.of("GET /api/reactive/products"), List.of("/api/reactive/products/stream/**"));
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+
+    private final ConcurrencyLimitWebFilter filter = new ConcurrencyLimitWebFilter(limiter, new RequestClassifier(properties),
+            properties.retryAfter());
+
+    @Test
+    void filter_whenLimitReached_shouldShedBulkRequests() {
+        limiter.tryAcquire(RequestPriority.WRITE);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/reactive/products"));
+
+        StepVerifier.create(filter.filter(exchange, ignored -> Mono.error(new AssertionError("should be shed"))))
+                .verifyComplete();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+        assertEquals("1", exchange.getResponse().getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void filter_shouldReleaseSlotWhenResponseCompletes() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/reactive/products/1"));
+
+        StepVerifier.create(filter.filter(exchange, ignored -> {
+                    assertEquals(1, limiter.inFlight());
+                    return Mono.empty();
+                }))
+                .verifyComplete();
+
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void filter_shouldNotLimitExcludedStreams() {
+        limiter.tryAcquire(RequestPriority.WRITE);
+        limiter.tryAcquire(RequestPriority.WRITE);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/reactive/products/stream"));
+
+        StepVerifier.create(filter.filter(exchange, ignored -> Mono.empty()))
+                .verifyComplete();
+
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+}
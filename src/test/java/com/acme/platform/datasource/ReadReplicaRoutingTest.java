@@ -0,0 +1,84 @@
+package com.acme.platform.datasource;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replica-local")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReplicationLog replicationLog;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private EmbeddedReplicaSynchronizer synchronizer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readOnlyTransaction_withToken_shouldSeeOwnWrite() {
+        Product saved = productRepository.save(new Product("Replica", "Routing test", new BigDecimal("5.00"), 1));
+        long lsn = replicationLog.committedLsn();
+        assertTrue(lsn > 0);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long previous = ReadConsistency.require(lsn);
+        try {
+            assertTrue(readOnly.execute(status -> productRepository.findById(saved.getId()).isPresent()));
+        } finally {
+            ReadConsistency.restore(previous);
+        }
+    }
+
+    @Test
+    void synchronizer_shouldCopyCommittedRowsToReplica() {
+        Product saved = productRepository.save(new Product("Copied", "Replica copy", new BigDecimal("7.00"), 2));
+        long lsn = replicationLog.committedLsn();
+
+        synchronizer.syncNow();
+
+        ReplicaRoutingDataSource.Replica replica = replicaRoutingDataSource.getReplicas().get(0);
+        assertTrue(replica.getAppliedLsn() >= lsn);
+        Integer rows = new JdbcTemplate(replica.getDataSource())
+                .queryForObject("select count(*) from products where id = ?", Integer.class, saved.getId());
+        assertEquals(1, rows);
+    }
+
+    @Test
+    void writeRequest_shouldReturnReadToken() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Token\",\"description\":\"RYW\",\"price\":1.50,\"stock\":3}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("X-Read-After"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.acme.platform.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final ReplicaRoutingDataSource.Replica first = new ReplicaRoutingDataSource.Replica("first", mock(DataSource.class));
+    private final ReplicaRoutingDataSource.Replica second = new ReplicaRoutingDataSource.Replica("second", mock(DataSource.class));
+    private final ReplicaRoutingDataSource routing =
+            new ReplicaRoutingDataSource(primary, List.of(first, second), Duration.ofSeconds(5));
+
+    @Test
+    void select_shouldRoundRobinAcrossHealthyReplicas() {
+        DataSource a = routing.select();
+        DataSource b = routing.select();
+
+        assertNotSame(a, b);
+        assertTrue(List.of(first.getDataSource(), second.getDataSource()).containsAll(List.of(a, b)));
+    }
+
+    @Test
+    void select_shouldSkipReplicasBehindRequiredLsn() {
+        first.setAppliedLsn(5L);
+        second.setAppliedLsn(10L);
+
+        Long previous = ReadConsistency.require(8L);
+        try {
+            assertSame(second.getDataSource(), routing.select());
+            assertSame(second.getDataSource(), routing.select());
+        } finally {
+            ReadConsistency.restore(previous);
+        }
+    }
+
+    @Test
+    void select_shouldFallBackToPrimaryWhenNoReplicaQualifies() {
+        second.setHealthy(false);
+        first.setSyncing(true);
+
+        assertSame(primary, routing.select());
+    }
+
+    @Test
+    void onPrimary_shouldBypassReplicas() {
+        first.setAppliedLsn(100L);
+        second.setAppliedLsn(100L);
+
+        assertSame(primary, ReadConsistency.onPrimary(routing::select));
+        assertEquals(0L, ReadConsistency.requiredLsn());
+    }
+
+    @Test
+    void checkHealth_shouldMarkUnreachableReplicaUnhealthy() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(first.getDataSource().getConnection()).thenReturn(connection);
+        when(second.getDataSource().getConnection()).thenThrow(new SQLException("down"));
+
+        routing.checkHealth();
+
+        assertTrue(first.isHealthy());
+        assertFalse(second.isHealthy());
+    }
+}
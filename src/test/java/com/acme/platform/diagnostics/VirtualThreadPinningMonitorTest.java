@@ -0,0 +1,64 @@
+package com.acme.platform.diagnostics;
+
+import com.acme.platform.config.PinningMonitorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(
+            new PinningMonitorProperties(true, Duration.ofMillis(10), 50, 12), meterRegistry);
+
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void record_shouldAttributePinningToOwnFrame() throws Exception {
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        List<VirtualThreadPinningMonitor.PinnedSite> report = awaitReport();
+        VirtualThreadPinningMonitor.PinnedSite site = report.get(0);
+        assertTrue(site.site().startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor"),
+                site::site);
+        assertEquals(1, site.count());
+        assertTrue(site.maxTime().compareTo(Duration.ofMillis(10)) >= 0);
+        assertEquals(1, meterRegistry.get("amg.virtual.pinned").tag("site", site.site()).timer().count());
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<VirtualThreadPinningMonitor.PinnedSite> awaitReport() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (System.nanoTime() < deadline) {
+            List<VirtualThreadPinningMonitor.PinnedSite> report = monitor.report();
+            if (!report.isEmpty()) {
+                return report;
+            }
+            Thread.sleep(100);
+        }
+        fail("No pinning was reported");
+        return List.of();
+    }
+}
@@ -0,0 +1,122 @@
+package com.acme.platform.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationJournalTest {
+
+    private static final Duration SYNC_INTERVAL = Duration.ofSeconds(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_shouldReturnAppendedRecordsInOrder() throws IOException {
+        try (MutationJournal journal = MutationJournal.open(directory, 4096, SYNC_INTERVAL)) {
+            journal.append(JournalRecord.EntityType.PRODUCT, JournalRecord.Operation.CREATE, 1L, 10L, bytes("{\"id\":1}"));
+            journal.append(JournalRecord.EntityType.USER, JournalRecord.Operation.DELETE, 7L, 3L, new byte[0]);
+
+            List<JournalRecord> records = replayAll(journal, 1L);
+
+            assertEquals(2, records.size());
+            assertEquals(1L, records.get(0).seq());
+            assertEquals(JournalRecord.EntityType.PRODUCT, records.get(0).entityType());
+            assertEquals(10L, records.get(0).sourceVersion());
+            assertEquals("{\"id\":1}", new String(records.get(0).payload(), StandardCharsets.UTF_8));
+            assertEquals(JournalRecord.Operation.DELETE, records.get(1).operation());
+            assertEquals(7L, records.get(1).entityId());
+        }
+    }
+
+    @Test
+    void append_shouldRollSegmentsAndContinueAfterReopen() throws IOException {
+        byte[] payload = new byte[1000];
+        try (MutationJournal journal = MutationJournal.open(directory, 4096, SYNC_INTERVAL)) {
+            for (long id = 1; id <= 10; id++) {
+                journal.append(JournalRecord.EntityType.PRODUCT, JournalRecord.Operation.UPDATE, id, id, payload);
+            }
+        }
+        assertTrue(segmentCount() > 1);
+
+        try (MutationJournal journal = MutationJournal.open(directory, 4096, SYNC_INTERVAL)) {
+            assertEquals(11L, journal.nextSeq());
+            assertEquals(10L, journal.lastSourceVersion(JournalRecord.EntityType.PRODUCT));
+            assertEquals(0L, journal.lastSourceVersion(JournalRecord.EntityType.USER));
+
+            List<JournalRecord> tail = replayAll(journal, 8L);
+            assertEquals(List.of(8L, 9L, 10L), tail.stream().map(JournalRecord::seq).toList());
+        }
+    }
+
+    @Test
+    void open_shouldDiscardTornRecordAtTail() throws IOException {
+        try (MutationJournal journal = MutationJournal.open(directory, 4096, SYNC_INTERVAL)) {
+            journal.append(JournalRecord.EntityType.PRODUCT, JournalRecord.Operation.CREATE, 1L, 1L, bytes("ok"));
+            journal.append(JournalRecord.EntityType.PRODUCT, JournalRecord.Operation.UPDATE, 1L, 2L, bytes("torn"));
+        }
+        corruptLastByteOfSecondRecord();
+
+        try (MutationJournal journal = MutationJournal.open(directory, 4096, SYNC_INTERVAL)) {
+            assertEquals(2L, journal.nextSeq());
+            journal.append(JournalRecord.EntityType.PRODUCT, JournalRecord.Operation.UPDATE, 1L, 3L, bytes("again"));
+
+            List<JournalRecord> records = replayAll(journal, 1L);
+            assertEquals(List.of(1L, 2L), records.stream().map(JournalRecord::seq).toList());
+            assertEquals(3L, records.get(1).sourceVersion());
+        }
+    }
+
+    @Test
+    void append_shouldRejectRecordLargerThanSegment() throws IOException {
+        try (MutationJournal journal = MutationJournal.open(directory, 4096, SYNC_INTERVAL)) {
+            assertThrows(IllegalArgumentException.class, () ->
+                    journal.append(JournalRecord.EntityType.USER, JournalRecord.Operation.CREATE, 1L, 0L, new byte[5000]));
+        }
+    }
+
+    private List<JournalRecord> replayAll(MutationJournal journal, long fromSeq) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(fromSeq, records::add);
+        return records;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private void corruptLastByteOfSecondRecord() throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, 0);
+            int second = MutationJournal.HEADER_BYTES + length.flip().getInt();
+            length.clear();
+            channel.read(length, second);
+            long lastByte = second + MutationJournal.HEADER_BYTES + length.flip().getInt() - 1;
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), lastByte);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
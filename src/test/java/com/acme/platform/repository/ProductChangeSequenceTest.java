@@ -0,0 +1,48 @@
+package com.acme.platform.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangeSequenceTest {
+
+    private final ProductChangeSequence sequence = new ProductChangeSequence(null);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void next_shouldContinueFromSeed() {
+        sequence.seed(41L);
+
+        assertEquals(42L, sequence.next());
+        assertEquals(43L, sequence.next());
+        assertEquals(43L, sequence.stableWatermark());
+    }
+
+    @Test
+    void stableWatermark_shouldStopBeforeOldestInFlightTransaction() {
+        sequence.seed(10L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        long first = sequence.next();
+        long second = sequence.next();
+
+        assertEquals(11L, first);
+        assertEquals(12L, second);
+        assertEquals(10L, sequence.stableWatermark());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(12L, sequence.stableWatermark());
+    }
+}
@@ -0,0 +1,79 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.api.StatementRecorder;
+import com.acme.platform.specification.ProductSpecification;
+import com.acme.platform.specification.UserSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hot specification queries, captures the SQL Hibernate sends and asks H2 for its
+ * plan, failing if a query no longer resolves through its index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.acme.platform.api.StatementRecorder")
+class QueryPlanTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void priceRange_shouldUsePriceIndex() {
+        String sql = capture(() -> productRepository.findAll(
+                ProductSpecification.hasPriceBetween(new BigDecimal("10.00"), new BigDecimal("20.00"))));
+
+        assertUsesIndex(sql, "IDX_PRODUCTS_PRICE", new BigDecimal("10.00"), new BigDecimal("20.00"));
+    }
+
+    @Test
+    void inStock_shouldUseStockIndex() {
+        String sql = capture(() -> productRepository.findAll(ProductSpecification.isInStock()));
+
+        assertUsesIndex(sql, "IDX_PRODUCTS_STOCK", 0);
+    }
+
+    @Test
+    void outOfStock_shouldUseStockIndex() {
+        String sql = capture(() -> productRepository.findAll(ProductSpecification.isOutOfStock()));
+
+        assertUsesIndex(sql, "IDX_PRODUCTS_STOCK", 0);
+    }
+
+    @Test
+    void emailFilter_shouldUseNormalizedEmailIndex() {
+        String sql = capture(() -> userRepository.findAll(UserSpecification.hasEmail("John@Example.com")));
+
+        assertUsesIndex(sql, "UK_USERS_EMAIL_NORMALIZED", "john@example.com");
+    }
+
+    private String capture(Runnable query) {
+        StatementRecorder.start();
+        List<String> statements;
+        try {
+            query.run();
+        } finally {
+            statements = StatementRecorder.stop();
+        }
+        assertEquals(1, statements.size(), statements::toString);
+        return statements.get(0);
+    }
+
+    private void assertUsesIndex(String sql, String index, Object... args) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+
+        assertFalse(plan.contains("tableScan"), () -> "Full scan for " + sql + ":\n" + plan);
+        assertTrue(plan.toUpperCase().contains(index), () -> "Expected " + index + " for " + sql + ":\n" + plan);
+    }
+}
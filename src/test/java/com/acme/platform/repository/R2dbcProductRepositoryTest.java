@@ -0,0 +1,57 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class R2dbcProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private R2dbcProductRepository r2dbcProductRepository;
+
+    @Test
+    void findById_shouldReadRowsWrittenThroughJpa() {
+        Product saved = productRepository.save(new Product("R2dbc Lamp", "Written by JPA", new BigDecimal("12.50"), 4));
+
+        StepVerifier.create(r2dbcProductRepository.findById(saved.getId()))
+                .assertNext(product -> {
+                    assertEquals("R2dbc Lamp", product.getName());
+                    assertEquals(0, new BigDecimal("12.50").compareTo(product.getPrice()));
+                    assertEquals(saved.getVersion(), product.getVersion());
+                    assertEquals(saved.getChangeSeq(), product.getChangeSeq());
+                    assertNotNull(product.getCreatedAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findPageByNameAfter_shouldTreatWildcardsLiterally() {
+        productRepository.save(new Product("R2dbc 100% Cotton", "Literal percent", new BigDecimal("3.00"), 1));
+        productRepository.save(new Product("R2dbc 1000 Cotton", "No percent", new BigDecimal("3.00"), 1));
+
+        StepVerifier.create(r2dbcProductRepository.findPageByNameAfter("r2dbc 100%", 0L, 10))
+                .assertNext(product -> assertEquals("R2dbc 100% Cotton", product.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void findPageAfter_shouldReturnNextKeysetPageInIdOrder() {
+        Product first = productRepository.save(new Product("R2dbc Page A", "Keyset", new BigDecimal("1.00"), 1));
+        Product second = productRepository.save(new Product("R2dbc Page B", "Keyset", new BigDecimal("1.00"), 1));
+        Product third = productRepository.save(new Product("R2dbc Page C", "Keyset", new BigDecimal("1.00"), 1));
+
+        StepVerifier.create(r2dbcProductRepository.findPageAfter(first.getId(), 2).map(Product::getId))
+                .expectNext(second.getId(), third.getId())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,62 @@
+package com.acme.platform.repository;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_shouldBeServedFromSecondLevelCache() {
+        Product saved = productRepository.save(new Product("Cached", "L2 cached", new BigDecimal("3.00"), 4));
+        productRepository.findById(saved.getId());
+        statistics.clear();
+
+        productRepository.findById(saved.getId());
+        productRepository.findById(saved.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+    }
+
+    @Test
+    void findByEmail_shouldResolveThroughNaturalIdCache() {
+        userRepository.save(new User("Cache User", "cached@example.com", "Street 1", "secret123"));
+        userRepository.findByEmail("cached@example.com");
+        statistics.clear();
+
+        assertTrue(userRepository.findByEmail("cached@example.com").isPresent());
+        assertTrue(userRepository.findByEmail("cached@example.com").isPresent());
+        assertTrue(userRepository.findByEmail("missing@example.com").isEmpty());
+
+        assertTrue(statistics.getNaturalIdCacheHitCount() >= 2);
+    }
+}
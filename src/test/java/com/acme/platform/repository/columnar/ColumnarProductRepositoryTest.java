@@ -0,0 +1,116 @@
+package com.acme.platform.repository.columnar;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.ProductTombstoneRepository;
+import com.acme.platform.specification.ProductSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "amg.columnar.enabled=true")
+class ColumnarProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    @Qualifier("productRepository")
+    private ProductRepository jpaRepository;
+
+    @Autowired
+    private ProductColumns productColumns;
+
+    @Autowired
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Test
+    void save_shouldWriteToH2AndColumns() {
+        Product saved = productRepository.save(new Product("Columnar", "Replicated", new BigDecimal("4.25"), 6));
+
+        assertNotSame(productRepository, jpaRepository);
+        assertEquals("Columnar", jpaRepository.findById(saved.getId()).orElseThrow().getName());
+        Product found = productColumns.find(saved.getId()).orElseThrow();
+        assertEquals(new BigDecimal("4.25"), found.getPrice());
+        assertEquals(saved.getVersion(), found.getVersion());
+        assertEquals(saved.getChangeSeq(), found.getChangeSeq());
+    }
+
+    @Test
+    void queries_shouldMatchJpa() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(new Product("Column " + i, i % 3 == 0 ? null : "Row " + i,
+                    new BigDecimal(i + ".50"), i % 4 == 0 ? 0 : i));
+        }
+        productRepository.saveAll(products);
+        List<Specification<Product>> specs = List.of(
+                ProductSpecification.hasName("column 1"),
+                ProductSpecification.hasName("Column").and(ProductSpecification.isInStock()),
+                ProductSpecification.hasName("Column").and(ProductSpecification.hasPriceBetween(new BigDecimal("3.50"), new BigDecimal("9.49"))),
+                ProductSpecification.hasName("Column").and(Specification.not(ProductSpecification.hasDescriptionContaining("row 1"))));
+
+        for (Specification<Product> spec : specs) {
+            assertEquals(sortedIds(jpaRepository.findAll(spec)), sortedIds(productRepository.findAll(spec)));
+            assertEquals(jpaRepository.count(spec), productRepository.count(spec));
+            PageRequest page = PageRequest.of(1, 3, Sort.by(Sort.Order.desc("price"), Sort.Order.asc("name")));
+            assertEquals(ids(jpaRepository.findAll(spec, page).getContent()), ids(productRepository.findAll(spec, page).getContent()));
+        }
+        assertEquals(0, jpaRepository.totalInventoryValue().compareTo(productRepository.totalInventoryValue()));
+        assertEquals(sortedIds(jpaRepository.findByNameContainingIgnoreCase("COLUMN 1")),
+                sortedIds(productRepository.findByNameContainingIgnoreCase("COLUMN 1")));
+    }
+
+    @Test
+    void removeById_shouldDropProductFromColumns() {
+        Product saved = productRepository.save(new Product("Columnar doomed", "Deleted", new BigDecimal("1.00"), 1));
+
+        assertEquals(1, productRepository.removeById(saved.getId()));
+
+        assertTrue(productRepository.findById(saved.getId()).isEmpty());
+        assertTrue(productColumns.find(saved.getId()).isEmpty());
+        assertTrue(tombstoneRepository.existsById(saved.getId()));
+    }
+
+    @Test
+    void exampleQueriesAndBulkDeletes_shouldKeepColumnsInStep() {
+        List<Product> saved = productRepository.saveAll(List.of(
+                new Product("Columnar bulk A", "Example", new BigDecimal("2.00"), 2),
+                new Product("Columnar bulk B", "Example", new BigDecimal("3.00"), 3),
+                new Product("Columnar bulk C", "Example", new BigDecimal("4.00"), 4)));
+        Product probe = new Product("Columnar bulk B", null, null, null);
+
+        assertEquals(saved.get(1).getId(), productRepository.findOne(Example.of(probe)).orElseThrow().getId());
+        assertEquals(1, productRepository.count(Example.of(probe)));
+        assertTrue(productRepository.exists(Example.of(probe)));
+
+        assertEquals(1, productRepository.delete(ProductSpecification.hasName("Columnar bulk A")));
+        productRepository.deleteAllById(List.of(saved.get(1).getId()));
+        productRepository.deleteAllInBatch(List.of(saved.get(2)));
+
+        for (Product product : saved) {
+            assertTrue(productColumns.find(product.getId()).isEmpty());
+            assertTrue(jpaRepository.findById(product.getId()).isEmpty());
+        }
+        assertEquals(0, productRepository.count(ProductSpecification.hasName("Columnar bulk")));
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static List<Long> sortedIds(List<Product> products) {
+        return products.stream().map(Product::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.acme.platform.repository.columnar;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.model.ProductSnapshot;
+import com.acme.platform.specification.ProductSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductColumnsTest {
+
+    private ProductColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new ProductColumns(2);
+        columns.put(product(3L, "Gamma Widget", null, "30.00", 0, 3L));
+        columns.put(product(1L, "Alpha Widget", "Blue and small", "10.50", 5, 1L));
+        columns.put(product(2L, "beta gadget", "Red", "20.00", 12, 2L));
+        columns.put(product(4L, "Delta Gadget", "blue and large", "20.01", 7, 4L));
+    }
+
+    @Test
+    void find_shouldRoundTripAllColumns() {
+        Instant created = Instant.parse("2024-05-01T10:15:30.123456Z");
+        Product stored = product(9L, "Round Trip", "All columns", "12.34", 8, 9L);
+        stored.setVersion(2L);
+        stored.setCreatedAt(created);
+        stored.setUpdatedAt(created.plusSeconds(1));
+        columns.put(stored);
+
+        Product found = columns.find(9L).orElseThrow();
+
+        assertEquals("Round Trip", found.getName());
+        assertEquals("All columns", found.getDescription());
+        assertEquals(new BigDecimal("12.34"), found.getPrice());
+        assertEquals(8, found.getStock());
+        assertEquals(2L, found.getVersion());
+        assertEquals(created, found.getCreatedAt());
+        assertEquals(created.plusSeconds(1), found.getUpdatedAt());
+        assertEquals(9L, found.getChangeSeq());
+        assertNull(columns.find(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void select_shouldEvaluateProductSpecifications() {
+        assertEquals(List.of(1L, 3L, 4L), ids(ProductSpecification.hasName("widget").or(ProductSpecification.hasName("DELTA"))));
+        assertEquals(List.of(2L, 4L), ids(ProductSpecification.hasPriceBetween(new BigDecimal("20.00"), new BigDecimal("20.01"))));
+        assertEquals(List.of(1L, 2L), ids(ProductSpecification.hasPriceLessThan(new BigDecimal("20.005"))
+                .and(ProductSpecification.hasPriceGreaterThan(new BigDecimal("10.499")))));
+        assertEquals(List.of(1L, 2L, 4L), ids(ProductSpecification.isInStock()));
+        assertEquals(List.of(3L), ids(ProductSpecification.isOutOfStock()));
+        assertEquals(List.of(1L, 4L), ids(ProductSpecification.hasDescriptionContaining("BLUE")));
+        assertEquals(List.of(2L, 4L), ids(ProductSpecification.hasStockGreaterThan(7)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(Specification.where(null)));
+    }
+
+    @Test
+    void select_shouldApplySqlNullSemanticsUnderNot() {
+        // Product 3 has no description: neither the LIKE nor its negation is true for it.
+        assertEquals(List.of(2L), ids(Specification.not(ProductSpecification.hasDescriptionContaining("blue"))));
+        assertEquals(List.of(3L), ids((root, query, cb) -> cb.isNull(root.get("description"))));
+    }
+
+    @Test
+    void select_shouldSupportLikeWildcardsAndIn() {
+        assertEquals(List.of(2L), ids((root, query, cb) -> cb.like(root.get("name"), "b_ta%")));
+        assertEquals(List.of(1L, 3L), ids((root, query, cb) -> root.get("id").in(List.of(1L, 3L, 99L))));
+        assertEquals(List.of(4L), ids((root, query, cb) -> cb.equal(cb.lower(root.get("name")), "delta gadget")));
+    }
+
+    @Test
+    void page_shouldSortAndSliceLikeJpa() {
+        Page<Product> page = columns.page(ProductSpecification.isInStock(),
+                PageRequest.of(0, 2, Sort.by(Sort.Order.asc("name").ignoreCase())));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("Alpha Widget", "beta gadget"), page.getContent().stream().map(Product::getName).toList());
+        assertEquals(List.of(3L, 4L, 2L, 1L), columns.select(null, Sort.by(Sort.Direction.DESC, "price")).stream()
+                .map(Product::getId).toList());
+    }
+
+    @Test
+    void totalInventoryValue_shouldSumPriceTimesStock() {
+        assertEquals(0, new BigDecimal("432.57").compareTo(columns.totalInventoryValue()));
+    }
+
+    @Test
+    void apply_shouldIgnoreReplayedOlderChanges() {
+        columns.remove(1L, 10L);
+        columns.apply(new ProductChangeEvent(1L, ProductChangeEvent.Type.CREATED, 1L,
+                ProductSnapshot.of(product(1L, "Alpha Widget", null, "10.50", 5, 1L)), Instant.now()));
+        columns.apply(new ProductChangeEvent(11L, ProductChangeEvent.Type.UPDATED, 2L,
+                ProductSnapshot.of(product(2L, "beta gadget", "Red", "25.00", 12, 11L)), Instant.now()));
+        columns.put(product(2L, "beta gadget", "Red", "20.00", 12, 2L));
+
+        assertTrue(columns.find(1L).isEmpty());
+        assertEquals(new BigDecimal("25.00"), columns.find(2L).orElseThrow().getPrice());
+        assertEquals(3, columns.count());
+    }
+
+    @Test
+    void select_shouldRejectUnsupportedCriteria() {
+        assertThrows(UnsupportedCriteriaException.class,
+                () -> columns.select((root, query, cb) -> cb.equal(root.get("name"), root.get("description")), Sort.unsorted()));
+        assertThrows(UnsupportedCriteriaException.class, () -> columns.select(null, Sort.by("category")));
+    }
+
+    private List<Long> ids(Specification<Product> spec) {
+        return columns.select(spec, Sort.unsorted()).stream().map(Product::getId).toList();
+    }
+
+    private static Product product(Long id, String name, String description, String price, int stock, Long changeSeq) {
+        Product product = new Product(name, description, new BigDecimal(price), stock);
+        product.setId(id);
+        product.setChangeSeq(changeSeq);
+        product.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        product.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        return product;
+    }
+}
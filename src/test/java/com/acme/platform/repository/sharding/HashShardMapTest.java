@@ -0,0 +1,38 @@
+package com.acme.platform.repository.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashShardMapTest {
+
+    @Test
+    void shardFor_shouldBeStableAndInRange() {
+        HashShardMap shardMap = new HashShardMap(4);
+
+        for (long id = 1; id <= 1_000; id++) {
+            int shard = shardMap.shardFor(id);
+            assertTrue(shard >= 0 && shard < 4);
+            assertEquals(shard, shardMap.shardFor(id));
+        }
+    }
+
+    @Test
+    void shardFor_shouldSpreadSequentialIds() {
+        HashShardMap shardMap = new HashShardMap(4);
+        int[] counts = new int[4];
+
+        for (long id = 1; id <= 10_000; id++) {
+            counts[shardMap.shardFor(id)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(count > 2_000, "uneven distribution: " + count);
+        }
+    }
+
+    @Test
+    void constructor_shouldRejectZeroShards() {
+        assertThrows(IllegalArgumentException.class, () -> new HashShardMap(0));
+    }
+}
@@ -0,0 +1,106 @@
+package com.acme.platform.repository.sharding;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.ProductTombstoneRepository;
+import com.acme.platform.specification.ProductSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "amg.sharding.enabled=true",
+        "amg.sharding.shards[0].url=jdbc:h2:mem:product-shard-0;DB_CLOSE_DELAY=-1",
+        "amg.sharding.shards[1].url=jdbc:h2:mem:product-shard-1;DB_CLOSE_DELAY=-1"
+})
+class ShardedProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductShards productShards;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Test
+    void save_shouldStoreProductOnOwningShardOnly() {
+        Product saved = productRepository.save(new Product("Sharded", "Owned by one shard", new BigDecimal("10.00"), 3));
+
+        assertNotNull(saved.getId());
+        int owner = shardMap.shardFor(saved.getId());
+        for (ProductShard shard : productShards.all()) {
+            boolean present = shard.read(repository -> repository.existsById(saved.getId()));
+            assertEquals(shard.getIndex() == owner, present);
+        }
+        assertEquals("Sharded", productRepository.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void queries_shouldGatherAcrossShards() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(new Product("Gather " + i, "Scatter-gather", new BigDecimal("2.00"), i % 2 == 0 ? 0 : 5));
+        }
+        List<Product> saved = productRepository.saveAll(products);
+        assertTrue(saved.stream().map(p -> shardMap.shardFor(p.getId())).distinct().count() > 1);
+
+        List<Product> matching = productRepository.findByNameContainingIgnoreCase("gather");
+        assertEquals(20, matching.size());
+        long inStock = productRepository.findAll(ProductSpecification.hasName("Gather")
+                .and(ProductSpecification.isInStock())).size();
+        assertEquals(10, inStock);
+        assertTrue(productRepository.count() >= 20);
+        assertTrue(productRepository.totalInventoryValue().compareTo(new BigDecimal("100.00")) >= 0);
+
+        Page<Product> page = productRepository.findAll(ProductSpecification.hasName("Gather"),
+                PageRequest.of(1, 5, Sort.by("name")));
+        assertEquals(20, page.getTotalElements());
+        assertEquals(List.of("Gather 13", "Gather 14", "Gather 15", "Gather 16", "Gather 17"),
+                page.getContent().stream().map(Product::getName).toList());
+    }
+
+    @Test
+    void deleteById_shouldRemoveFromShardAndLeaveTombstone() {
+        Product saved = productRepository.save(new Product("Doomed", "Deleted", new BigDecimal("1.00"), 1));
+
+        productRepository.deleteById(saved.getId());
+
+        assertTrue(productRepository.findById(saved.getId()).isEmpty());
+        assertTrue(tombstoneRepository.existsById(saved.getId()));
+    }
+
+    @Test
+    void exampleQueriesAndSpecificationDelete_shouldWorkAcrossShards() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            products.add(new Product("Example " + (i % 2), "By example", new BigDecimal("3.00"), 1));
+        }
+        List<Product> saved = productRepository.saveAll(products);
+
+        Example<Product> example = Example.of(new Product("Example 1", null, null, null));
+        assertEquals(3, productRepository.count(example));
+        assertEquals(3, productRepository.findAll(example, Sort.by("id")).size());
+        assertTrue(productRepository.exists(example));
+
+        assertEquals(3, productRepository.delete(ProductSpecification.hasName("Example 0")));
+        assertEquals(0, productRepository.count(ProductSpecification.hasName("Example 0")));
+        saved.stream()
+                .filter(product -> product.getName().equals("Example 0"))
+                .forEach(product -> assertTrue(tombstoneRepository.existsById(product.getId())));
+    }
+}
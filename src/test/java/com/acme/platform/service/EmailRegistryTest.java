@@ -0,0 +1,81 @@
+package com.acme.platform.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private EmailRegistry emailRegistry;
+
+    @Test
+    void tryReserve_whenRegistered_shouldRefuse() {
+        emailRegistry.register("john@example.com");
+
+        assertFalse(emailRegistry.tryReserve("john@example.com"));
+        assertTrue(emailRegistry.tryReserve("jane@example.com"));
+    }
+
+    @Test
+    void tryReserve_whenReleased_shouldAllowAnotherSignup() {
+        assertTrue(emailRegistry.tryReserve("john@example.com"));
+        assertFalse(emailRegistry.tryReserve("john@example.com"));
+
+        emailRegistry.release("john@example.com");
+
+        assertTrue(emailRegistry.tryReserve("john@example.com"));
+    }
+
+    @Test
+    void unregister_shouldFreeEmail() {
+        emailRegistry.register("john@example.com");
+        emailRegistry.unregister("john@example.com");
+
+        assertFalse(emailRegistry.isRegistered("john@example.com"));
+        assertTrue(emailRegistry.tryReserve("john@example.com"));
+    }
+
+    @Test
+    void tryReserve_whenConcurrent_shouldGrantExactlyOne() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return emailRegistry.tryReserve("race@example.com");
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    granted++;
+                }
+            }
+            assertEquals(1, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
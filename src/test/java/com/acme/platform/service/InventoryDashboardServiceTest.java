@@ -0,0 +1,123 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.DashboardProperties;
+import com.acme.platform.model.InventoryDashboard;
+import com.acme.platform.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryDashboardServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InventoryDashboardService service;
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void inventory_shouldCombineAllSections() {
+        service = service(Map.of());
+        when(productRepository.totalInventoryValue()).thenReturn(new BigDecimal("150.00"));
+        when(productRepository.count()).thenReturn(12L);
+        when(productRepository.count(any(Specification.class))).thenReturn(3L);
+
+        InventoryDashboard dashboard = service.inventory();
+
+        assertEquals(new BigDecimal("150.00"), dashboard.totalValue());
+        assertEquals(12L, dashboard.count());
+        assertEquals(3L, dashboard.inStock());
+        assertEquals(3L, dashboard.outOfStock());
+        assertEquals(3, dashboard.priceRanges().size());
+        assertNull(dashboard.priceRanges().get(0).min());
+        assertEquals(new BigDecimal("10"), dashboard.priceRanges().get(0).max());
+        assertEquals(new BigDecimal("50"), dashboard.priceRanges().get(2).min());
+        assertNull(dashboard.priceRanges().get(2).max());
+        assertTrue(dashboard.degraded().isEmpty());
+        verify(productRepository, times(5)).count(any(Specification.class));
+        verify(transactionManager, times(7)).getTransaction(argThat(definition ->
+                definition.isReadOnly() && definition.getTimeout() == 5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void inventory_whenSubQueryIsSlow_shouldDegradeItAtItsOwnTimeoutWithoutInterruptingIt() throws InterruptedException {
+        service = service(Map.of("totalValue", Duration.ofMillis(100)));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(productRepository.totalInventoryValue()).thenAnswer(invocation -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            return BigDecimal.ONE;
+        });
+        when(productRepository.count()).thenReturn(12L);
+        when(productRepository.count(any(Specification.class))).thenReturn(3L);
+
+        long started = System.nanoTime();
+        InventoryDashboard dashboard = service.inventory();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "took " + elapsed);
+        assertNull(dashboard.totalValue());
+        assertEquals(12L, dashboard.count());
+        assertEquals(List.of("totalValue"), dashboard.degraded());
+        assertEquals(1, meterRegistry.timer("amg.dashboard.query", "section", "totalValue", "outcome", "timeout").count());
+        Thread.sleep(50);
+        assertFalse(interrupted.get());
+        release.countDown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void inventory_whenSubQueryFails_shouldKeepOtherSections() {
+        service = service(Map.of());
+        when(productRepository.totalInventoryValue()).thenReturn(new BigDecimal("150.00"));
+        when(productRepository.count()).thenThrow(new IllegalStateException("database down"));
+        when(productRepository.count(any(Specification.class))).thenReturn(3L);
+
+        InventoryDashboard dashboard = service.inventory();
+
+        assertNull(dashboard.count());
+        assertEquals(new BigDecimal("150.00"), dashboard.totalValue());
+        assertEquals(List.of("count"), dashboard.degraded());
+        assertEquals(1, meterRegistry.timer("amg.dashboard.query", "section", "count", "outcome", "error").count());
+    }
+
+    private InventoryDashboardService service(Map<String, Duration> timeouts) {
+        DashboardProperties properties = new DashboardProperties(Duration.ofSeconds(5), timeouts,
+                List.of(new BigDecimal("50"), new BigDecimal("10")));
+        return new InventoryDashboardService(productRepository, transactionManager, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PasswordHashingService(properties(4), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void hash_shouldProduceVerifiableBcryptHash() {
+        String hash = service.hash("password123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(service.matches("password123", hash));
+        assertFalse(service.matches("password124", hash));
+        assertFalse(service.needsRehash(hash));
+        assertEquals(3, meterRegistry.get("amg.password.hash.time").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void hashAll_shouldHashEveryPasswordInOrder() {
+        List<String> passwords = List.of("first-pass", "second-pass", "third-pass", "fourth-pass", "fifth-pass");
+
+        List<String> hashes = service.hashAll(passwords);
+
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(service.matches(passwords.get(i), hashes.get(i)));
+        }
+    }
+
+    @Test
+    void matches_whenStoredAsPlainText_shouldCompareAndRequireRehash() {
+        assertTrue(service.matches("password123", "password123"));
+        assertFalse(service.matches("password123", "password124"));
+        assertTrue(service.needsRehash("password123"));
+    }
+
+    @Test
+    void needsRehash_whenCostDiffers_shouldBeTrue() {
+        PasswordHashingService stronger = new PasswordHashingService(properties(5), new SimpleMeterRegistry());
+        try {
+            String hash = service.hash("password123");
+
+            assertTrue(stronger.needsRehash(hash));
+            assertTrue(stronger.matches("password123", hash));
+        } finally {
+            stronger.destroy();
+        }
+    }
+
+    @Test
+    void costFor_shouldPickHighestCostWithinTarget() {
+        Duration probe = Duration.ofMillis(10);
+
+        assertEquals(12, PasswordHashingService.costFor(Duration.ofMillis(250), probe, 8, 4, 16));
+        assertEquals(8, PasswordHashingService.costFor(Duration.ofMillis(15), probe, 8, 4, 16));
+        assertEquals(10, PasswordHashingService.costFor(Duration.ofMillis(1), probe, 8, 10, 16));
+        assertEquals(14, PasswordHashingService.costFor(Duration.ofSeconds(60), probe, 8, 4, 14));
+    }
+
+    @Test
+    void costOf_shouldParseBcryptPrefix() {
+        assertEquals(12, PasswordHashingService.costOf("$2a$12$" + "a".repeat(53)));
+        assertEquals(4, PasswordHashingService.costOf("$2b$04$" + "a".repeat(53)));
+    }
+
+    private static PasswordHashingProperties properties(int cost) {
+        return new PasswordHashingProperties(1, 4, cost, Duration.ofMillis(250), 4, 14, Duration.ofSeconds(5));
+    }
+}
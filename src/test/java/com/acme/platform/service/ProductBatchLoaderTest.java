@@ -0,0 +1,152 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.BatchLoaderProperties;
+import com.acme.platform.model.Product;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.R2dbcProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBatchLoaderTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private R2dbcProductRepository r2dbcProductRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    private ProductBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (loader != null) {
+            loader.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findById_shouldAnswerConcurrentLookupsWithOneQuery() {
+        loader = new ProductBatchLoader(productRepository, null,
+                new BatchLoaderProperties(true, Duration.ofMillis(200), 100, 2), meterRegistry);
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product(1L), product(2L)));
+
+        List<CompletableFuture<Optional<Product>>> lookups = LongStream.of(1L, 2L, 2L, 3L)
+                .mapToObj(id -> CompletableFuture.supplyAsync(() -> loader.findById(id), callers))
+                .toList();
+
+        assertEquals(1L, lookups.get(0).join().orElseThrow().getId());
+        assertEquals(2L, lookups.get(1).join().orElseThrow().getId());
+        assertEquals(2L, lookups.get(2).join().orElseThrow().getId());
+        assertTrue(lookups.get(3).join().isEmpty());
+
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository, times(1)).findAllById(ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf((Collection<Long>) ids.getValue()));
+    }
+
+    @Test
+    void findById_whenBatchIsFull_shouldNotWaitForWindow() {
+        loader = new ProductBatchLoader(productRepository, null,
+                new BatchLoaderProperties(true, Duration.ofMinutes(1), 1, 1), meterRegistry);
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product(7L)));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertTrue(loader.findById(7L).isPresent()));
+    }
+
+    @Test
+    void findById_whenQueryFails_shouldFailEveryLookupInBatch() {
+        loader = new ProductBatchLoader(productRepository, null,
+                new BatchLoaderProperties(true, Duration.ofMillis(10), 100, 1), meterRegistry);
+        when(productRepository.findAllById(anyIterable())).thenThrow(new IllegalStateException("database down"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> loader.findById(1L));
+        assertEquals("database down", error.getMessage());
+    }
+
+    @Test
+    void load_shouldBatchReactiveLookupsOverR2dbc() {
+        loader = new ProductBatchLoader(productRepository, r2dbcProductRepository,
+                new BatchLoaderProperties(true, Duration.ofMillis(50), 100, 1), meterRegistry);
+        when(r2dbcProductRepository.findAllById(anyCollection())).thenReturn(Flux.just(product(1L), product(2L)));
+
+        StepVerifier.create(Mono.zip(loader.load(1L), loader.load(2L)))
+                .assertNext(pair -> {
+                    assertEquals(1L, pair.getT1().getId());
+                    assertEquals(2L, pair.getT2().getId());
+                })
+                .verifyComplete();
+
+        verify(r2dbcProductRepository, times(1)).findAllById(anyCollection());
+        verifyNoInteractions(productRepository);
+        assertEquals(2.0, meterRegistry.summary("amg.product.batch.size", "path", "r2dbc").totalAmount());
+    }
+
+    @Test
+    void load_shouldGiveEachCallerItsOwnCopy() {
+        loader = new ProductBatchLoader(productRepository, r2dbcProductRepository,
+                new BatchLoaderProperties(true, Duration.ofMillis(50), 100, 1), meterRegistry);
+        when(r2dbcProductRepository.findAllById(anyCollection())).thenReturn(Flux.just(product(1L)));
+
+        StepVerifier.create(Mono.zip(loader.load(1L), loader.load(1L)))
+                .assertNext(pair -> {
+                    assertNotSame(pair.getT1(), pair.getT2());
+                    pair.getT1().setName("Changed by one caller");
+                    assertEquals("Product 1", pair.getT2().getName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void load_whenOneCallerCancels_shouldStillAnswerTheOthers() {
+        loader = new ProductBatchLoader(productRepository, r2dbcProductRepository,
+                new BatchLoaderProperties(true, Duration.ofMillis(100), 100, 1), meterRegistry);
+        when(r2dbcProductRepository.findAllById(anyCollection())).thenReturn(Flux.just(product(1L)));
+
+        Mono<Product> survivor = loader.load(1L);
+        StepVerifier.create(loader.load(1L).timeout(Duration.ofMillis(10)))
+                .expectError(TimeoutException.class)
+                .verify();
+
+        StepVerifier.create(survivor)
+                .assertNext(product -> assertEquals(1L, product.getId()))
+                .verifyComplete();
+    }
+
+    private static Product product(long id) {
+        Product product = new Product("Product " + id, "Batched product", new BigDecimal("5.00"), 1);
+        product.setId(id);
+        return product;
+    }
+}
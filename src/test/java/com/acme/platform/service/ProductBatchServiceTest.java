@@ -0,0 +1,102 @@
+package com.acme.platform.service;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductBatchGetResult;
+import com.acme.platform.model.ProductBatchOperation;
+import com.acme.platform.model.ProductBatchResult;
+import com.acme.platform.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductBatchServiceTest {
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void findAllById_shouldKeepRequestOrderAndReportMissingIds() {
+        Product first = productRepository.save(new Product("Batch Get A", "First", new BigDecimal("1.00"), 1));
+        Product second = productRepository.save(new Product("Batch Get B", "Second", new BigDecimal("2.00"), 2));
+        long missing = second.getId() + 1_000_000;
+
+        ProductBatchGetResult result = productBatchService.findAllById(List.of(second.getId(), missing, first.getId(), second.getId()));
+
+        assertEquals(List.of(second.getId(), first.getId()), result.products().stream().map(Product::getId).toList());
+        assertEquals(List.of(missing), result.missingIds());
+    }
+
+    @Test
+    void findAllById_afterUpdateAndDeleteThroughApi_shouldReturnCurrentState() throws Exception {
+        Product updated = productRepository.save(new Product("Batch Get Before", "Stored", new BigDecimal("1.00"), 1));
+        Product deleted = productRepository.save(new Product("Batch Get Deleted", "Stored", new BigDecimal("1.00"), 1));
+        productBatchService.findAllById(List.of(updated.getId(), deleted.getId()));
+
+        mockMvc.perform(put("/api/products/{id}", updated.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Batch Get After\",\"description\":\"Updated\",\"price\":2.00,\"stock\":2}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/products/{id}", deleted.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/products/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + updated.getId() + "," + deleted.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(1))
+                .andExpect(jsonPath("$.products[0].name").value("Batch Get After"))
+                .andExpect(jsonPath("$.missingIds[0]").value(deleted.getId()));
+    }
+
+    @Test
+    void findAllById_whenTooManyIds_shouldReject() {
+        List<Long> ids = Collections.nCopies(ProductBatchService.MAX_BATCH_SIZE + 1, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> productBatchService.findAllById(ids));
+    }
+
+    @Test
+    void apply_shouldReportStatusPerItem() {
+        Product existing = productRepository.save(new Product("Batch Update", "Before", new BigDecimal("3.00"), 3));
+        Product doomed = productRepository.save(new Product("Batch Delete", "Gone", new BigDecimal("4.00"), 4));
+        long unknown = doomed.getId() + 1_000_000;
+
+        ProductBatchResult result = productBatchService.apply(List.of(
+                new ProductBatchOperation(ProductBatchOperation.Type.UPSERT, null,
+                        new Product("Batch Create", "New", new BigDecimal("5.00"), 5)),
+                new ProductBatchOperation(ProductBatchOperation.Type.UPSERT, existing.getId(),
+                        new Product("Batch Updated", "After", new BigDecimal("6.00"), 6)),
+                new ProductBatchOperation(ProductBatchOperation.Type.DELETE, doomed.getId(), null),
+                new ProductBatchOperation(ProductBatchOperation.Type.DELETE, unknown, null),
+                new ProductBatchOperation(ProductBatchOperation.Type.UPSERT, null,
+                        new Product("", "Invalid", new BigDecimal("-1.00"), 1)),
+                new ProductBatchOperation(ProductBatchOperation.Type.DELETE, existing.getId(), null)));
+
+        assertEquals(List.of(201, 200, 204, 404, 400, 409),
+                result.results().stream().map(ProductBatchResult.Item::status).toList());
+        Long createdId = result.results().get(0).id();
+        assertEquals("Batch Create", productRepository.findById(createdId).orElseThrow().getName());
+        assertEquals("Batch Updated", productRepository.findById(existing.getId()).orElseThrow().getName());
+        assertTrue(productRepository.findById(doomed.getId()).isEmpty());
+        assertNotNull(result.results().get(4).error());
+    }
+}
@@ -0,0 +1,129 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.BulkheadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductBulkheadsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ProductBulkheads bulkheads = new ProductBulkheads(new BulkheadProperties(
+            new BulkheadProperties.Partition(2, 4),
+            new BulkheadProperties.Partition(1, 1),
+            new BulkheadProperties.Partition(1, 4)), meterRegistry);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<Disposable> pending = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pending.forEach(Disposable::dispose);
+        bulkheads.destroy();
+    }
+
+    @Test
+    void call_whenRunningAndQueuedCallsAreFull_shouldRejectImmediately() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        pending.add(bulkheads.scans().call(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }).subscribe());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pending.add(bulkheads.scans().call(() -> true).subscribe());
+
+        StepVerifier.create(bulkheads.scans().call(() -> true))
+                .expectError(BulkheadFullException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1.0, meterRegistry.counter("amg.bulkhead.rejected", "bulkhead", "scans").count());
+        assertEquals(1.0, meterRegistry.get("amg.bulkhead.active").tag("bulkhead", "scans").gauge().value());
+        assertEquals(1.0, meterRegistry.get("amg.bulkhead.queued").tag("bulkhead", "scans").gauge().value());
+    }
+
+    @Test
+    void call_whenScansAreSaturated_shouldStillServePointReads() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        pending.add(bulkheads.scans().call(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }).subscribe());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        StepVerifier.create(bulkheads.pointReads().call(() -> Thread.currentThread().getName()))
+                .assertNext(thread -> assertTrue(thread.startsWith("bulkhead-point-reads"), thread))
+                .verifyComplete();
+    }
+
+    @Test
+    void call_whenCallerCancelsRunningWork_shouldKeepItsSlot() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Disposable cancelled = bulkheads.scans().call(() -> {
+            started.countDown();
+            awaitIgnoringInterrupts(release);
+            return true;
+        }).subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        cancelled.dispose();
+        pending.add(bulkheads.scans().call(() -> true).subscribe());
+
+        StepVerifier.create(bulkheads.scans().call(() -> true))
+                .expectError(BulkheadFullException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1.0, meterRegistry.get("amg.bulkhead.active").tag("bulkhead", "scans").gauge().value());
+    }
+
+    @Test
+    void call_whenCallerCancelsBeforeWorkStarts_shouldFreeItsSlot() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        pending.add(bulkheads.scans().call(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }).subscribe());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicBoolean ran = new AtomicBoolean();
+        bulkheads.scans().call(() -> ran.getAndSet(true)).subscribe().dispose();
+
+        pending.add(bulkheads.scans().call(() -> true).subscribe());
+
+        assertEquals(0.0, meterRegistry.counter("amg.bulkhead.rejected", "bulkhead", "scans").count());
+        assertEquals(1.0, meterRegistry.get("amg.bulkhead.queued").tag("bulkhead", "scans").gauge().value());
+        release.countDown();
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void run_whenCallsFinish_shouldFreeTheirSlots() {
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(bulkheads.writes().run(() -> { }))
+                    .verifyComplete();
+        }
+
+        assertEquals(0.0, meterRegistry.counter("amg.bulkhead.rejected", "bulkhead", "writes").count());
+    }
+
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        while (latch.getCount() > 0) {
+            try {
+                latch.await();
+            } catch (InterruptedException ignored) {
+                // Like a JDBC call, the work does not stop when its caller cancels.
+            }
+        }
+    }
+}
@@ -81,6 +81,26 @@ class ProductCacheServiceTest {
         verify(productRepository).findByNameContainingIgnoreCase("laptop");
     }
 
+    @Test
+    void findAllTagged_shouldReturnProductsWithCollectionETag() {
+        Product product1 = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product1.setId(1L);
+        Product product2 = new Product("Mouse", "Wireless mouse", new BigDecimal("29.99"), 5);
+        product2.setId(2L);
+        List<Product> products = Arrays.asList(product1, product2);
+
+        when(productRepository.findAll()).thenReturn(products);
+
+        Tagged<List<Product>> result = productCacheService.findAllTagged();
+
+        assertEquals(2, result.value().size());
+        assertEquals(ETags.ofProducts(products), result.etag());
+
+        product2.setVersion(1L);
+        assertNotEquals(result.etag(), ETags.ofProducts(products));
+        verify(productRepository).findAll();
+    }
+
     @Test
     void save_shouldSaveProduct() {
         Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
@@ -106,20 +126,15 @@ class ProductCacheServiceTest {
 
     @Test
     void calculateTotalInventoryValue_shouldReturnTotalValue() {
-        Product product1 = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
-        product1.setId(1L);
-        Product product2 = new Product("Mouse", "Wireless mouse", new BigDecimal("29.99"), 5);
-        product2.setId(2L);
-        List<Product> products = Arrays.asList(product1, product2);
-
-        when(productRepository.findAll()).thenReturn(products);
+        BigDecimal expected = new BigDecimal("999.99").multiply(BigDecimal.valueOf(10))
+                .add(new BigDecimal("29.99").multiply(BigDecimal.valueOf(5)));
+        when(productRepository.totalInventoryValue()).thenReturn(expected);
 
         BigDecimal result = productCacheService.calculateTotalInventoryValue();
 
-        BigDecimal expected = new BigDecimal("999.99").multiply(BigDecimal.valueOf(10))
-                .add(new BigDecimal("29.99").multiply(BigDecimal.valueOf(5)));
         assertEquals(0, expected.compareTo(result));
-        verify(productRepository).findAll();
+        verify(productRepository).totalInventoryValue();
+        verify(productRepository, never()).findAll();
     }
 
     @Test
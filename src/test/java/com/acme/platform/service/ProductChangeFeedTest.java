@@ -0,0 +1,162 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.ProductFeedProperties;
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChange;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.model.ProductSnapshot;
+import com.acme.platform.repository.ProductChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeFeedTest {
+
+    @Mock
+    private ReactiveProductService reactiveProductService;
+
+    @Mock
+    private ProductChangeSequence changeSequence;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ProductChangeFeed(reactiveProductService, changeSequence,
+                new ProductFeedProperties(2, Duration.ofMinutes(1), 16, Duration.ofMillis(50)), meterRegistry);
+    }
+
+    @Test
+    void stream_shouldDeliverSnapshotThenLaterChanges() {
+        when(changeSequence.stableWatermark()).thenReturn(1L);
+        when(reactiveProductService.findAll()).thenReturn(Flux.just(product(1L, 1L)));
+
+        StepVerifier.create(feed.stream())
+                .assertNext(change -> {
+                    assertEquals(ProductChange.Type.UPSERT, change.type());
+                    assertEquals(1L, change.changeSeq());
+                })
+                .then(() -> feed.onProductChange(updated(2L, 1L)))
+                .assertNext(change -> assertEquals(2L, change.changeSeq()))
+                .then(() -> feed.onProductChange(deleted(3L, 1L)))
+                .assertNext(change -> {
+                    assertEquals(ProductChange.Type.DELETE, change.type());
+                    assertNull(change.product());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_shouldSkipChangesAlreadyInSnapshot() {
+        feed.onProductChange(updated(1L, 1L));
+        when(changeSequence.stableWatermark()).thenReturn(1L);
+        // Row 2 was committed at seq 3 while the snapshot was being read.
+        when(reactiveProductService.findAll()).thenReturn(Flux.just(product(1L, 1L), product(2L, 3L)));
+
+        StepVerifier.create(feed.stream())
+                .expectNextCount(2)
+                .then(() -> {
+                    feed.onProductChange(updated(2L, 2L));
+                    feed.onProductChange(updated(3L, 2L));
+                    feed.onProductChange(updated(4L, 2L));
+                })
+                .assertNext(change -> assertEquals(4L, change.changeSeq()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_shouldShareSnapshotBetweenSubscribers() {
+        when(changeSequence.stableWatermark()).thenReturn(1L);
+        when(reactiveProductService.findAll()).thenReturn(Flux.just(product(1L, 1L)));
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(feed.stream())
+                    .expectNextCount(1)
+                    .thenCancel()
+                    .verify();
+        }
+
+        verify(reactiveProductService, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.counter("amg.product.feed.snapshots").count());
+    }
+
+    @Test
+    void stream_whenReplayBufferMovedPastSnapshot_shouldReloadSnapshot() {
+        when(changeSequence.stableWatermark()).thenReturn(1L, 4L);
+        when(reactiveProductService.findAll()).thenReturn(Flux.just(product(1L, 1L)));
+
+        StepVerifier.create(feed.stream())
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        feed.onProductChange(updated(2L, 1L));
+        feed.onProductChange(updated(3L, 1L));
+        feed.onProductChange(updated(4L, 1L));
+
+        StepVerifier.create(feed.stream())
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        verify(reactiveProductService, times(2)).findAll();
+    }
+
+    @Test
+    void conflated_shouldKeepLatestChangePerProductUntilRequested() {
+        when(changeSequence.stableWatermark()).thenReturn(1L);
+        when(reactiveProductService.findAll()).thenReturn(Flux.just(product(1L, 1L)));
+
+        StepVerifier.create(feed.conflated(), 0)
+                .then(() -> {
+                    feed.onProductChange(updated(2L, 1L));
+                    feed.onProductChange(updated(3L, 1L));
+                    feed.onProductChange(updated(4L, 2L));
+                })
+                .thenAwait(Duration.ofMillis(150))
+                .thenRequest(1)
+                .assertNext(batch -> {
+                    assertEquals(List.of(1L, 2L), batch.stream().map(ProductChange::productId).toList());
+                    assertEquals(List.of(3L, 4L), batch.stream().map(ProductChange::changeSeq).toList());
+                })
+                .thenCancel()
+                .verify();
+
+        assertEquals(2.0, meterRegistry.counter("amg.product.feed.conflated").count());
+    }
+
+    private static Product product(long id, long changeSeq) {
+        Product product = new Product("Product " + id, "Feed product", new BigDecimal("9.99"), 1);
+        product.setId(id);
+        product.setVersion(0L);
+        product.setChangeSeq(changeSeq);
+        return product;
+    }
+
+    private static ProductChangeEvent updated(long seq, long productId) {
+        ProductSnapshot snapshot = ProductSnapshot.of(product(productId, seq));
+        return new ProductChangeEvent(seq, ProductChangeEvent.Type.UPDATED, productId, snapshot, Instant.now());
+    }
+
+    private static ProductChangeEvent deleted(long seq, long productId) {
+        return new ProductChangeEvent(seq, ProductChangeEvent.Type.DELETED, productId, null, Instant.now());
+    }
+}
@@ -0,0 +1,130 @@
+package com.acme.platform.service;
+
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductChange;
+import com.acme.platform.model.ProductChangeSet;
+import com.acme.platform.model.ProductTombstone;
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.ProductTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ProductChangeSequence changeSequence;
+
+    @InjectMocks
+    private ProductChangeService productChangeService;
+
+    @Test
+    void changesSince_shouldMergeUpsertsAndDeletesInSequenceOrder() {
+        Product laptop = product(1L, "Laptop", 3L);
+        Product mouse = product(2L, "Mouse", 5L);
+        ProductTombstone deleted = new ProductTombstone(7L, 4L, Instant.now());
+
+        when(changeSequence.stableWatermark()).thenReturn(5L);
+        when(productRepository.findChangedBetween(eq(2L), eq(5L), any(Pageable.class))).thenReturn(List.of(laptop, mouse));
+        when(tombstoneRepository.findChangedBetween(eq(2L), eq(5L), any(Pageable.class))).thenReturn(List.of(deleted));
+
+        ProductChangeSet result = productChangeService.changesSince("2", 10);
+
+        assertEquals(3, result.changes().size());
+        assertEquals(ProductChange.Type.UPSERT, result.changes().get(0).type());
+        assertEquals(ProductChange.Type.DELETE, result.changes().get(1).type());
+        assertEquals(7L, result.changes().get(1).productId());
+        assertEquals(2L, result.changes().get(2).productId());
+        assertEquals("5", result.nextToken());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    void changesSince_whenMoreThanLimit_shouldReturnTokenOfLastChange() {
+        when(changeSequence.stableWatermark()).thenReturn(9L);
+        when(productRepository.findChangedBetween(eq(0L), eq(9L), any(Pageable.class)))
+                .thenReturn(List.of(product(1L, "Laptop", 1L), product(2L, "Mouse", 3L)));
+        when(tombstoneRepository.findChangedBetween(eq(0L), eq(9L), any(Pageable.class)))
+                .thenReturn(List.of(new ProductTombstone(5L, 2L, Instant.now())));
+
+        ProductChangeSet result = productChangeService.changesSince(null, 2);
+
+        assertEquals(2, result.changes().size());
+        assertEquals("2", result.nextToken());
+        assertTrue(result.hasMore());
+    }
+
+    @Test
+    void changesSince_whenOneTableHasMoreThanLimit_shouldPageWithoutSkipping() {
+        List<Product> products = List.of(product(1L, "A", 1L), product(2L, "B", 2L), product(3L, "C", 3L),
+                product(4L, "D", 5L), product(5L, "E", 6L), product(6L, "F", 7L));
+        when(changeSequence.stableWatermark()).thenReturn(8L);
+        when(productRepository.findChangedBetween(anyLong(), eq(8L), any(Pageable.class))).thenAnswer(invocation -> {
+            long since = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(2);
+            return products.stream().filter(product -> product.getChangeSeq() > since).limit(page.getPageSize()).toList();
+        });
+        when(tombstoneRepository.findChangedBetween(anyLong(), eq(8L), any(Pageable.class))).thenAnswer(invocation -> {
+            long since = invocation.getArgument(0);
+            return since < 4L ? List.of(new ProductTombstone(9L, 4L, Instant.now())) : List.of();
+        });
+
+        List<Long> seen = new ArrayList<>();
+        String token = null;
+        ProductChangeSet page;
+        do {
+            page = productChangeService.changesSince(token, 2);
+            page.changes().forEach(change -> seen.add(change.changeSeq()));
+            token = page.nextToken();
+        } while (page.hasMore());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), seen);
+        assertEquals("8", token);
+    }
+
+    @Test
+    void changesSince_whenNothingNew_shouldNotQueryTables() {
+        when(changeSequence.stableWatermark()).thenReturn(4L);
+
+        ProductChangeSet result = productChangeService.changesSince("4", 10);
+
+        assertTrue(result.changes().isEmpty());
+        assertEquals("4", result.nextToken());
+        verifyNoInteractions(productRepository, tombstoneRepository);
+    }
+
+    @Test
+    void changesSince_withInvalidToken_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> productChangeService.changesSince("abc", 10));
+        assertThrows(IllegalArgumentException.class, () -> productChangeService.changesSince("-1", 10));
+    }
+
+    private Product product(Long id, String name, Long changeSeq) {
+        Product product = new Product(name, name + " description", new BigDecimal("10.00"), 1);
+        product.setId(id);
+        product.setChangeSeq(changeSeq);
+        return product;
+    }
+}
@@ -0,0 +1,103 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.OutboxProperties;
+import com.acme.platform.model.OutboxOffset;
+import com.acme.platform.model.ProductChangeEvent;
+import com.acme.platform.model.ProductOutboxEvent;
+import com.acme.platform.model.ProductSnapshot;
+import com.acme.platform.repository.OutboxOffsetRepository;
+import com.acme.platform.repository.ProductChangeSequence;
+import com.acme.platform.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOutboxRelayTest {
+
+    @Mock
+    private ProductOutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxOffsetRepository offsetRepository;
+
+    @Mock
+    private ProductChangeSequence changeSequence;
+
+    @Mock
+    private ObjectProvider<ProductChangeListener> listenerBeans;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ProductOutboxRelay relay;
+
+    private final List<ProductChangeEvent> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties(Duration.ofMillis(10), 2, Duration.ofHours(1));
+        relay = new ProductOutboxRelay(outboxRepository, offsetRepository, changeSequence, objectMapper, properties, listenerBeans);
+        relay.subscribe(received::add);
+    }
+
+    @Test
+    void relayBatch_shouldPublishEventsInOrderAndStoreOffset() throws Exception {
+        ProductSnapshot laptop = new ProductSnapshot(1L, "Laptop", "High-performance laptop", new BigDecimal("999.99"), 10,
+                0L, Instant.now(), Instant.now(), 1L);
+        List<ProductOutboxEvent> rows = List.of(
+                new ProductOutboxEvent(1L, 1L, ProductChangeEvent.Type.CREATED, objectMapper.writeValueAsString(laptop), Instant.now()),
+                new ProductOutboxEvent(2L, 7L, ProductChangeEvent.Type.DELETED, null, Instant.now()));
+
+        when(changeSequence.stableWatermark()).thenReturn(5L);
+        when(outboxRepository.findBetween(eq(0L), eq(5L), any(Pageable.class))).thenReturn(rows);
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(2, relayed);
+        assertEquals(List.of(1L, 2L), received.stream().map(ProductChangeEvent::seq).toList());
+        assertEquals("Laptop", received.get(0).product().name());
+        assertNull(received.get(1).product());
+        assertEquals(2L, relay.getOffset());
+
+        ArgumentCaptor<OutboxOffset> offset = ArgumentCaptor.forClass(OutboxOffset.class);
+        verify(offsetRepository).save(offset.capture());
+        assertEquals(2L, offset.getValue().getLastSeq());
+    }
+
+    @Test
+    void relayBatch_whenBatchIsShort_shouldSkipGapsUpToWatermark() {
+        when(changeSequence.stableWatermark()).thenReturn(9L);
+        when(outboxRepository.findBetween(eq(0L), eq(9L), any(Pageable.class)))
+                .thenReturn(List.of(new ProductOutboxEvent(4L, 3L, ProductChangeEvent.Type.DELETED, null, Instant.now())));
+
+        relay.relayBatch();
+
+        assertEquals(9L, relay.getOffset());
+    }
+
+    @Test
+    void relayBatch_whenNothingCommitted_shouldNotQueryOutbox() {
+        when(changeSequence.stableWatermark()).thenReturn(0L);
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(outboxRepository, offsetRepository);
+    }
+}
@@ -0,0 +1,162 @@
+package com.acme.platform.service;
+
+import com.acme.platform.config.WriteBehindProperties;
+import com.acme.platform.model.Product;
+import com.acme.platform.model.ProductStockPriceUpdate;
+import com.acme.platform.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductWriteBehindServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductWriteBehindService writeBehindService;
+
+    @BeforeEach
+    void setUp() {
+        WriteBehindProperties properties = new WriteBehindProperties(true, 2, 10, Duration.ofMillis(50), Duration.ofMillis(10));
+        writeBehindService = new ProductWriteBehindService(productRepository, transactionManager, properties);
+    }
+
+    @Test
+    void submit_shouldCoalesceUpdatesToSameProduct() {
+        Product laptop = product(1L, "Laptop");
+
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(laptop));
+
+        CompletableFuture<Void> first = writeBehindService.submit(new ProductStockPriceUpdate(1L, new BigDecimal("10.00"), 5));
+        CompletableFuture<Void> second = writeBehindService.submit(new ProductStockPriceUpdate(1L, null, 7));
+        CompletableFuture<Void> third = writeBehindService.submit(new ProductStockPriceUpdate(1L, new BigDecimal("12.00"), null));
+
+        assertFalse(first.isDone());
+        assertEquals(1, writeBehindService.flushPending());
+
+        assertTrue(first.isDone() && second.isDone() && third.isDone());
+        assertEquals(new BigDecimal("12.00"), laptop.getPrice());
+        assertEquals(7, laptop.getStock());
+        verify(productRepository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    void submit_whenQueueFull_shouldRejectNewProducts() {
+        writeBehindService.submit(new ProductStockPriceUpdate(1L, null, 1));
+        writeBehindService.submit(new ProductStockPriceUpdate(2L, null, 1));
+
+        assertThrows(WriteBehindQueueFullException.class,
+                () -> writeBehindService.submit(new ProductStockPriceUpdate(3L, null, 1)));
+        assertDoesNotThrow(() -> writeBehindService.submit(new ProductStockPriceUpdate(2L, null, 2)));
+    }
+
+    @Test
+    void flushPending_whenProductMissing_shouldFailOnlyItsAcknowledgement() {
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product(1L, "Laptop")));
+
+        CompletableFuture<Void> existing = writeBehindService.submit(new ProductStockPriceUpdate(1L, null, 3));
+        CompletableFuture<Void> missing = writeBehindService.submit(new ProductStockPriceUpdate(99L, null, 3));
+
+        writeBehindService.flushPending();
+
+        assertFalse(existing.isCompletedExceptionally());
+        assertTrue(missing.isCompletedExceptionally());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository).findAllById(ids.capture());
+        List<Long> requested = new ArrayList<>();
+        ids.getValue().forEach(requested::add);
+        assertEquals(List.of(1L, 99L), requested);
+    }
+
+    @Test
+    void submitAll_whenAnyUpdateInvalid_shouldQueueNothing() {
+        List<ProductStockPriceUpdate> updates = List.of(
+                new ProductStockPriceUpdate(1L, null, 1),
+                new ProductStockPriceUpdate(2L, null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> writeBehindService.submitAll(updates));
+        assertEquals(0, writeBehindService.flushPending());
+    }
+
+    @Test
+    void submitAll_whenQueueLacksRoomForAll_shouldQueueNothing() {
+        Product laptop = product(1L, "Laptop");
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(laptop));
+        writeBehindService.submit(new ProductStockPriceUpdate(1L, null, 3));
+
+        List<ProductStockPriceUpdate> updates = List.of(
+                new ProductStockPriceUpdate(1L, null, 4),
+                new ProductStockPriceUpdate(2L, null, 4),
+                new ProductStockPriceUpdate(3L, null, 4));
+
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehindService.submitAll(updates));
+        assertEquals(1, writeBehindService.flushPending());
+        assertEquals(3, laptop.getStock());
+    }
+
+    @Test
+    void flushPending_whenOneProductConflicts_shouldApplyTheOthers() {
+        Product laptop = product(1L, "Laptop");
+        Product mouse = product(2L, "Mouse");
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Product> found = new ArrayList<>();
+            Iterable<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> found.add(id == 1L ? laptop : mouse));
+            return found;
+        });
+        when(productRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Product> products = invocation.getArgument(0);
+            for (Product product : products) {
+                if (product == mouse) {
+                    throw new ObjectOptimisticLockingFailureException(Product.class, 2L);
+                }
+            }
+            return List.of();
+        });
+
+        CompletableFuture<Void> applied = writeBehindService.submit(new ProductStockPriceUpdate(1L, null, 8));
+        CompletableFuture<Void> conflicted = writeBehindService.submit(new ProductStockPriceUpdate(2L, null, 8));
+
+        assertEquals(2, writeBehindService.flushPending());
+
+        assertTrue(applied.isDone() && !applied.isCompletedExceptionally());
+        assertTrue(conflicted.isCompletedExceptionally());
+        assertEquals(8, laptop.getStock());
+        verify(productRepository, times(5)).saveAll(anyIterable());
+    }
+
+    @Test
+    void submit_withoutPriceOrStock_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> writeBehindService.submit(new ProductStockPriceUpdate(1L, null, null)));
+        verify(productRepository, never()).saveAll(any());
+    }
+
+    private Product product(Long id, String name) {
+        Product product = new Product(name, name + " description", new BigDecimal("9.99"), 1);
+        product.setId(id);
+        return product;
+    }
+}
@@ -1,23 +1,32 @@
 package com.acme.platform.service;
 
+import com.acme.platform.config.BulkheadProperties;
+import com.acme.platform.config.ReactiveProperties;
 import com.acme.platform.model.Product;
 import com.acme.platform.repository.ProductRepository;
+import com.acme.platform.repository.R2dbcProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,15 +35,33 @@ class ReactiveProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private R2dbcProductRepository r2dbcProductRepository;
+
+    private final ProductBulkheads bulkheads = new ProductBulkheads(new BulkheadProperties(
+            new BulkheadProperties.Partition(2, 10),
+            new BulkheadProperties.Partition(2, 10),
+            new BulkheadProperties.Partition(2, 10)), new SimpleMeterRegistry());
+
     private ReactiveProductService reactiveProductService;
 
+    @BeforeEach
+    void setUp() {
+        reactiveProductService = new ReactiveProductService(productRepository, r2dbcProductRepository, null,
+                bulkheads, new ReactiveProperties(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkheads.destroy();
+    }
+
     @Test
     void findById_whenProductExists_shouldReturnProduct() {
         Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
         product.setId(1L);
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(r2dbcProductRepository.findById(1L)).thenReturn(Mono.just(product));
 
         Mono<Product> result = reactiveProductService.findById(1L);
 
@@ -42,21 +69,55 @@ class ReactiveProductServiceTest {
                 .expectNext(product)
                 .verifyComplete();
 
-        verify(productRepository).findById(1L);
+        verify(r2dbcProductRepository).findById(1L);
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void findById_whenProductNotExists_shouldReturnEmpty() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(r2dbcProductRepository.findById(1L)).thenReturn(Mono.empty());
 
         Mono<Product> result = reactiveProductService.findById(1L);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
+        verify(r2dbcProductRepository).findById(1L);
+    }
+
+    @Test
+    void findById_withoutR2dbc_shouldFallBackToJpa() {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        ReactiveProductService jpaOnly = new ReactiveProductService(productRepository, null, null, bulkheads,
+                new ReactiveProperties(2));
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        StepVerifier.create(jpaOnly.findById(1L))
+                .expectNext(product)
+                .verifyComplete();
+
         verify(productRepository).findById(1L);
     }
 
+    @Test
+    void findById_withBatchLoader_shouldLoadThroughBatch() {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(1L);
+        ProductBatchLoader batchLoader = mock(ProductBatchLoader.class);
+        ReactiveProductService batched = new ReactiveProductService(productRepository, r2dbcProductRepository, batchLoader,
+                bulkheads, new ReactiveProperties(2));
+
+        when(batchLoader.load(1L)).thenReturn(Mono.just(product));
+
+        StepVerifier.create(batched.findById(1L))
+                .expectNext(product)
+                .verifyComplete();
+
+        verifyNoInteractions(r2dbcProductRepository, productRepository);
+    }
+
     @Test
     void findAll_shouldReturnAllProducts() {
         Product product1 = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
@@ -65,7 +126,8 @@ class ReactiveProductServiceTest {
         product2.setId(2L);
         List<Product> products = Arrays.asList(product1, product2);
 
-        when(productRepository.findAll()).thenReturn(products);
+        when(r2dbcProductRepository.findPageAfter(0L, 2)).thenReturn(Flux.fromIterable(products));
+        when(r2dbcProductRepository.findPageAfter(2L, 2)).thenReturn(Flux.empty());
 
         Flux<Product> result = reactiveProductService.findAll();
 
@@ -74,7 +136,54 @@ class ReactiveProductServiceTest {
                 .expectNext(product2)
                 .verifyComplete();
 
-        verify(productRepository).findAll();
+        verify(r2dbcProductRepository).findPageAfter(0L, 2);
+        verify(r2dbcProductRepository).findPageAfter(2L, 2);
+    }
+
+    @Test
+    void findAll_shouldFetchKeysetPagesUntilShortPage() {
+        List<Product> products = products(5);
+
+        when(r2dbcProductRepository.findPageAfter(0L, 2)).thenReturn(Flux.fromIterable(products.subList(0, 2)));
+        when(r2dbcProductRepository.findPageAfter(2L, 2)).thenReturn(Flux.fromIterable(products.subList(2, 4)));
+        when(r2dbcProductRepository.findPageAfter(4L, 2)).thenReturn(Flux.fromIterable(products.subList(4, 5)));
+
+        StepVerifier.create(reactiveProductService.findAll())
+                .expectNextSequence(products)
+                .verifyComplete();
+
+        verify(r2dbcProductRepository, times(3)).findPageAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void findAll_whenCancelled_shouldStopFetchingPages() {
+        List<Product> products = products(4);
+
+        when(r2dbcProductRepository.findPageAfter(0L, 2)).thenReturn(Flux.fromIterable(products.subList(0, 2)));
+        lenient().when(r2dbcProductRepository.findPageAfter(2L, 2)).thenReturn(Flux.fromIterable(products.subList(2, 4)));
+
+        StepVerifier.create(reactiveProductService.findAll(), 1)
+                .expectNext(products.get(0))
+                .thenCancel()
+                .verify();
+
+        verify(r2dbcProductRepository, never()).findPageAfter(4L, 2);
+    }
+
+    @Test
+    void findAll_withoutR2dbc_shouldPageThroughJpa() {
+        List<Product> products = products(3);
+        ReactiveProductService jpaOnly = new ReactiveProductService(productRepository, null, null, bulkheads,
+                new ReactiveProperties(2));
+
+        when(productRepository.findByIdGreaterThan(eq(0L), any(Pageable.class))).thenReturn(products.subList(0, 2));
+        when(productRepository.findByIdGreaterThan(eq(2L), any(Pageable.class))).thenReturn(products.subList(2, 3));
+
+        StepVerifier.create(jpaOnly.findAll())
+                .expectNextSequence(products)
+                .verifyComplete();
+
+        verify(productRepository, never()).findAll();
     }
 
     @Test
@@ -83,7 +192,7 @@ class ReactiveProductServiceTest {
         product.setId(1L);
         List<Product> products = Arrays.asList(product);
 
-        when(productRepository.findByNameContainingIgnoreCase("laptop")).thenReturn(products);
+        when(r2dbcProductRepository.findPageByNameAfter("laptop", 0L, 2)).thenReturn(Flux.fromIterable(products));
 
         Flux<Product> result = reactiveProductService.findByName("laptop");
 
@@ -91,7 +200,7 @@ class ReactiveProductServiceTest {
                 .expectNext(product)
                 .verifyComplete();
 
-        verify(productRepository).findByNameContainingIgnoreCase("laptop");
+        verify(r2dbcProductRepository).findPageByNameAfter("laptop", 0L, 2);
     }
 
     @Test
@@ -125,7 +234,7 @@ class ReactiveProductServiceTest {
 
     @Test
     void count_shouldReturnCount() {
-        when(productRepository.count()).thenReturn(10L);
+        when(r2dbcProductRepository.count()).thenReturn(Mono.just(10L));
 
         Mono<Long> result = reactiveProductService.count();
 
@@ -133,26 +242,16 @@ class ReactiveProductServiceTest {
                 .expectNext(10L)
                 .verifyComplete();
 
-        verify(productRepository).count();
+        verify(r2dbcProductRepository).count();
     }
 
-    @Test
-    void streamAllWithDelay_shouldStreamProductsWithDelay() {
-        Product product1 = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
-        product1.setId(1L);
-        Product product2 = new Product("Mouse", "Wireless mouse", new BigDecimal("29.99"), 5);
-        product2.setId(2L);
-        List<Product> products = Arrays.asList(product1, product2);
-
-        when(productRepository.findAll()).thenReturn(products);
-
-        Flux<Product> result = reactiveProductService.streamAllWithDelay(Duration.ofMillis(100));
-
-        StepVerifier.create(result)
-                .expectNext(product1)
-                .expectNext(product2)
-                .verifyComplete();
-
-        verify(productRepository).findAll();
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Product product = new Product("Product " + id, "Paged product", new BigDecimal("9.99"), 1);
+            product.setId(id);
+            products.add(product);
+        }
+        return products;
     }
 }
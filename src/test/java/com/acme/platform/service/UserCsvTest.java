@@ -0,0 +1,30 @@
+package com.acme.platform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCsvTest {
+
+    @Test
+    void parseLine_shouldHandleQuotedFieldsAndEscapedQuotes() {
+        assertEquals(List.of("Alice", "1 Main St, Springfield", "say \"hi\"", ""),
+                UserCsv.parseLine("Alice,\"1 Main St, Springfield\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void parseLine_whenQuoteUnterminated_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> UserCsv.parseLine("Alice,\"open"));
+    }
+
+    @Test
+    void escape_shouldRoundTripThroughParse() {
+        String value = "a, \"quoted\" value";
+
+        assertEquals(List.of("x", value), UserCsv.parseLine("x," + UserCsv.escape(value)));
+        assertEquals("plain", UserCsv.escape("plain"));
+        assertEquals("", UserCsv.escape(null));
+    }
+}